@@ -0,0 +1,38 @@
+package de.bjoern.openworkspacefile.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so the allocation rate is reported
+ * next to the time per operation. Build with <code>mvn package</code> and run
+ * with <code>java -jar target/benchmarks.jar</code>. The usual JMH command
+ * line options apply, e.g. a benchmark name pattern or
+ * <code>-p projects=100</code>.
+ *
+ * @author funhoff
+ */
+public final class BenchmarkMain {
+
+	/**
+	 * Private constructor.
+	 */
+	private BenchmarkMain() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args
+	 *            The JMH command line options.
+	 * @throws Exception
+	 *             If the options are invalid or a benchmark failed.
+	 */
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
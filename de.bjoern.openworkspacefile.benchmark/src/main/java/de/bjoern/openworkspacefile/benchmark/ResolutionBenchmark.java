@@ -0,0 +1,440 @@
+package de.bjoern.openworkspacefile.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.bjoern.openworkspacefile.resolver.FileIndex;
+import de.bjoern.openworkspacefile.resolver.FuzzyNameStrategy;
+import de.bjoern.openworkspacefile.resolver.IndexStrategy;
+import de.bjoern.openworkspacefile.resolver.ProjectRootStrategy;
+import de.bjoern.openworkspacefile.resolver.ProjectRoots;
+import de.bjoern.openworkspacefile.resolver.RenameStrategy;
+import de.bjoern.openworkspacefile.resolver.RenamedPaths;
+import de.bjoern.openworkspacefile.resolver.RepositoryMappingSource;
+import de.bjoern.openworkspacefile.resolver.RepositoryMappingStrategy;
+import de.bjoern.openworkspacefile.resolver.RepositoryMappings;
+import de.bjoern.openworkspacefile.resolver.ResolutionResult;
+import de.bjoern.openworkspacefile.resolver.SuffixProbeStrategy;
+import de.bjoern.openworkspacefile.resolver.WorkspaceFileResolver;
+import de.bjoern.openworkspacefile.util.ParallelFileSearch;
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.ProjectNesting;
+import de.bjoern.openworkspacefile.util.ReversePathTrie;
+
+/**
+ * Benchmarks of resolving repository paths to workspace files:
+ * <ul>
+ * <li>{@link #indexLookup()}: lookup in the built workspace file index, the
+ * usual path of <code>getWorkspaceFile</code>,</li>
+ * <li>{@link #resolve()}: the whole strategy chain of the resolver,</li>
+ * <li>{@link #resolveOtherCase()}: the same chain for paths in other case,
+ * which only the fuzzy name strategy resolves,</li>
+ * <li>{@link #resolveByProjectRoot()}: the chain headed by the known project
+ * roots,</li>
+ * <li>{@link #resolveByRepositoryMapping()}: the chain headed by the Git
+ * repository mappings, for repository relative paths,</li>
+ * <li>{@link #resolveRenamed()}: the same chain knowing the renames of the
+ * moved files,</li>
+ * <li>{@link #indexBuild()}: building the index of the whole workspace,</li>
+ * <li>{@link #fallbackSearch()}: the parallel search used while the index is
+ * not built,</li>
+ * <li>{@link #scoreCandidates()}: scoring all files of a frequent name,</li>
+ * <li>{@link #canonicalInnermost()} and {@link #canonicalOutermost()}:
+ * choosing among the paths of a file in nested projects.</li>
+ * </ul>
+ *
+ * @author funhoff
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutionBenchmark {
+
+	/**
+	 * Number of prepared repository paths. Must be a power of two.
+	 */
+	private static final int PATH_COUNT = 1024;
+
+	/**
+	 * Repository root of the prepared repository paths.
+	 */
+	private static final String REPOSITORY_ROOT = "https://svn.example.org/repos/product/trunk";
+
+	/**
+	 * The Git directory of the repository of the relative paths.
+	 */
+	private static final String GIT_DIRECTORY = "/home/user/git/product/.git";
+
+	/**
+	 * The Git repository relative folder containing the projects.
+	 */
+	private static final String MODULES_FOLDER = "modules";
+
+	/**
+	 * The number of projects.
+	 */
+	@Param({ "10", "100" })
+	private int projects;
+
+	/**
+	 * The number of nested package folders.
+	 */
+	@Param({ "4", "8" })
+	private int depth;
+
+	/**
+	 * The number of files per package folder.
+	 */
+	@Param({ "20" })
+	private int files;
+
+	/**
+	 * The synthetic workspace.
+	 */
+	private SyntheticWorkspaceView view;
+
+	/**
+	 * The built index of the synthetic workspace.
+	 */
+	private ReversePathTrie trie;
+
+	/**
+	 * The resolver with all strategies over the built index.
+	 */
+	private WorkspaceFileResolver resolver;
+
+	/**
+	 * The resolver with all strategies, headed by the known project roots.
+	 */
+	private WorkspaceFileResolver rootResolver;
+
+	/**
+	 * The resolver with all strategies, headed by the Git repository mappings.
+	 */
+	private WorkspaceFileResolver mappingResolver;
+
+	/**
+	 * The resolver with all strategies, headed by the Git repository mappings
+	 * and the renames of the moved files.
+	 */
+	private WorkspaceFileResolver renameResolver;
+
+	/**
+	 * The renames of the moved files.
+	 */
+	private RenamedPaths renames;
+
+	/**
+	 * Repository paths to resolve, half of them of moved files matching only
+	 * partially.
+	 */
+	private String[] repositoryPaths;
+
+	/**
+	 * The repository paths relative to the Git work tree.
+	 */
+	private String[] relativePaths;
+
+	/**
+	 * The prepared repository paths in upper case.
+	 */
+	private String[] upperCasePaths;
+
+	/**
+	 * All files named <code>package-info.java</code>.
+	 */
+	private IPath[] candidates;
+
+	/**
+	 * Repository path of one of the candidates.
+	 */
+	private String candidateRepositoryPath;
+
+	/**
+	 * Nesting of the projects, with eight modules nested in each other.
+	 */
+	private ProjectNesting nesting;
+
+	/**
+	 * Path of a file in the outermost of the nested modules.
+	 */
+	private IPath nestedFile;
+
+	/**
+	 * Index of the next repository path.
+	 */
+	private int next;
+
+	/**
+	 * Creates the synthetic workspace and the repository paths.
+	 */
+	@Setup
+	public void setUp() {
+		view = new SyntheticWorkspaceView(projects, depth, files);
+		trie = new ReversePathTrie();
+		List<IPath> packageInfos = new ArrayList<IPath>();
+		for (IPath file : view.getFiles()) {
+			trie.add(file);
+			if ("package-info.java".equals(file.lastSegment())) {
+				packageInfos.add(file);
+			}
+		}
+		candidates = packageInfos.toArray(new IPath[packageInfos.size()]);
+		FileIndex index = new FileIndex() {
+
+			@Override
+			public boolean isBuilt() {
+				return true;
+			}
+
+			@Override
+			public void scheduleBuild() {
+				// always built
+			}
+
+			@Override
+			public ReversePathTrie.Match lookup(String repositoryPath) {
+				return trie.lookup(repositoryPath.split(PathSuffixScorer.PATH_SEPARATOR));
+			}
+
+			@Override
+			public List<IPath> getPaths(String fileName) {
+				return trie.getPaths(fileName);
+			}
+
+			@Override
+			public List<IPath> getPathsIgnoreCase(String fileName) {
+				return trie.getPathsIgnoreCase(fileName);
+			}
+		};
+		resolver = new WorkspaceFileResolver(view, new SuffixProbeStrategy(), new IndexStrategy(index), new FuzzyNameStrategy(index));
+		ProjectRoots roots = new ProjectRoots();
+		for (String projectName : view.getOpenProjectNames()) {
+			roots.put(REPOSITORY_ROOT + PathSuffixScorer.PATH_SEPARATOR + projectName, null, projectName);
+		}
+		rootResolver = new WorkspaceFileResolver(view, new ProjectRootStrategy(roots), new SuffixProbeStrategy(), new IndexStrategy(index),
+				new FuzzyNameStrategy(index));
+		final Map<IPath, String> mappedPaths = new HashMap<IPath, String>();
+		for (String projectName : view.getOpenProjectNames()) {
+			mappedPaths.put(Path.ROOT.append(projectName), MODULES_FOLDER + PathSuffixScorer.PATH_SEPARATOR + projectName);
+		}
+		RepositoryMappingSource mappings = new RepositoryMappingSource() {
+
+			private final RepositoryMappings repositoryMappings = new RepositoryMappings(mappedPaths);
+
+			@Override
+			public RepositoryMappings getMappings() {
+				return repositoryMappings;
+			}
+		};
+		RepositoryMappingStrategy mappingStrategy = new RepositoryMappingStrategy(mappings);
+		SuffixProbeStrategy suffixProbeStrategy = new SuffixProbeStrategy();
+		mappingResolver = new WorkspaceFileResolver(view, mappingStrategy, suffixProbeStrategy, new IndexStrategy(index), new FuzzyNameStrategy(index));
+		renames = new RenamedPaths();
+		renameResolver = new WorkspaceFileResolver(view, mappingStrategy, new RenameStrategy(renames, mappingStrategy, suffixProbeStrategy), suffixProbeStrategy,
+				new IndexStrategy(index), new FuzzyNameStrategy(index));
+		candidateRepositoryPath = REPOSITORY_ROOT + candidates[candidates.length / 2];
+
+		Random random = new Random(42);
+		List<IPath> allFiles = view.getFiles();
+		repositoryPaths = new String[PATH_COUNT];
+		relativePaths = new String[PATH_COUNT];
+		upperCasePaths = new String[PATH_COUNT];
+		for (int i = 0; i < PATH_COUNT; i++) {
+			IPath file = allFiles.get(random.nextInt(allFiles.size()));
+			if (i % 2 == 1 && file.segmentCount() > 3) {
+				IPath movedFile = file.removeLastSegments(2).append("moved").append(file.lastSegment());
+				renames.put(GIT_DIRECTORY, MODULES_FOLDER + movedFile, MODULES_FOLDER + file);
+				file = movedFile;
+			}
+			repositoryPaths[i] = REPOSITORY_ROOT + file.toString();
+			relativePaths[i] = MODULES_FOLDER + file.toString();
+			upperCasePaths[i] = REPOSITORY_ROOT + file.toString().toUpperCase(Locale.ROOT);
+		}
+
+		Map<IPath, IPath> locations = new HashMap<IPath, IPath>();
+		IPath workspaceLocation = new Path("/home/user/workspace");
+		for (String projectName : view.getOpenProjectNames()) {
+			locations.put(Path.ROOT.append(projectName), workspaceLocation.append(projectName));
+		}
+		IPath moduleLocation = workspaceLocation;
+		nestedFile = Path.ROOT.append("module1");
+		for (int i = 1; i <= 8; i++) {
+			moduleLocation = moduleLocation.append("m" + i);
+			locations.put(Path.ROOT.append("module" + i), moduleLocation);
+			if (i > 1) {
+				nestedFile = nestedFile.append("m" + i);
+			}
+		}
+		nestedFile = nestedFile.append(candidates[candidates.length - 1].removeFirstSegments(1));
+		nesting = new ProjectNesting(locations);
+	}
+
+	/**
+	 * Returns the next repository path.
+	 *
+	 * @return The repository path.
+	 */
+	private String nextRepositoryPath() {
+		return repositoryPaths[next++ & (PATH_COUNT - 1)];
+	}
+
+	/**
+	 * Looks up a repository path in the built index.
+	 *
+	 * @return The match.
+	 */
+	@Benchmark
+	public ReversePathTrie.Match indexLookup() {
+		return trie.lookup(nextRepositoryPath().split(PathSuffixScorer.PATH_SEPARATOR));
+	}
+
+	/**
+	 * Looks up a repository path in the built index whose only the file name
+	 * matches, so the shortest of all files with that name wins.
+	 *
+	 * @return The match.
+	 */
+	@Benchmark
+	public ReversePathTrie.Match indexLookupByName() {
+		String repositoryPath = nextRepositoryPath();
+		return trie.lookup(new String[] { "elsewhere", repositoryPath.substring(repositoryPath.lastIndexOf('/') + 1) });
+	}
+
+	/**
+	 * Resolves a repository path by the strategy chain.
+	 *
+	 * @return The result.
+	 */
+	@Benchmark
+	public ResolutionResult resolve() {
+		return resolver.resolve(nextRepositoryPath(), null);
+	}
+
+	/**
+	 * Resolves a repository path in upper case by the strategy chain, so all
+	 * exact strategies miss and the fuzzy name strategy decides.
+	 *
+	 * @return The result.
+	 */
+	@Benchmark
+	public ResolutionResult resolveOtherCase() {
+		return resolver.resolve(upperCasePaths[next++ & (PATH_COUNT - 1)], null);
+	}
+
+	/**
+	 * Resolves a repository path by the strategy chain headed by the known
+	 * project roots.
+	 *
+	 * @return The result.
+	 */
+	@Benchmark
+	public ResolutionResult resolveByProjectRoot() {
+		return rootResolver.resolve(nextRepositoryPath(), null);
+	}
+
+	/**
+	 * Resolves a repository relative path by the strategy chain headed by the
+	 * Git repository mappings.
+	 *
+	 * @return The result.
+	 */
+	@Benchmark
+	public ResolutionResult resolveByRepositoryMapping() {
+		return mappingResolver.resolve(relativePaths[next++ & (PATH_COUNT - 1)], null);
+	}
+
+	/**
+	 * Resolves a repository relative path by the strategy chain headed by the
+	 * Git repository mappings, knowing the renames of the moved files.
+	 *
+	 * @return The result.
+	 */
+	@Benchmark
+	public ResolutionResult resolveRenamed() {
+		return renameResolver.resolve(relativePaths[next++ & (PATH_COUNT - 1)], GIT_DIRECTORY, null);
+	}
+
+	/**
+	 * Builds the index of the whole workspace.
+	 *
+	 * @return The index.
+	 */
+	@Benchmark
+	public ReversePathTrie indexBuild() {
+		ReversePathTrie index = new ReversePathTrie();
+		for (IPath file : view.getFiles()) {
+			index.add(file);
+		}
+		return index;
+	}
+
+	/**
+	 * Searches a repository path in all projects without index.
+	 *
+	 * @return The match.
+	 */
+	@Benchmark
+	public ReversePathTrie.Match fallbackSearch() {
+		return ParallelFileSearch.search(view, nextRepositoryPath(), null);
+	}
+
+	/**
+	 * Scores all files of a frequent name against a repository path.
+	 *
+	 * @return The best candidate.
+	 */
+	@Benchmark
+	public IPath scoreCandidates() {
+		PathSuffixScorer scorer = new PathSuffixScorer(candidateRepositoryPath);
+		for (IPath candidate : candidates) {
+			if (scorer.offer(candidate)) {
+				break;
+			}
+		}
+		return scorer.getBestPath();
+	}
+
+	/**
+	 * Chooses the path of a file in the innermost of the nested modules.
+	 *
+	 * @return The chosen path.
+	 */
+	@Benchmark
+	public IPath canonicalInnermost() {
+		return nesting.getCanonicalPath(nestedFile, true);
+	}
+
+	/**
+	 * Chooses the path of a file in the outermost of the nested modules.
+	 *
+	 * @return The chosen path.
+	 */
+	@Benchmark
+	public IPath canonicalOutermost() {
+		return nesting.getCanonicalPath(nestedFile, false);
+	}
+
+}
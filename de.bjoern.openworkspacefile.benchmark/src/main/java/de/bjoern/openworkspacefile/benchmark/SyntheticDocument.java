@@ -0,0 +1,82 @@
+package de.bjoern.openworkspacefile.benchmark;
+
+import java.util.Random;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Generator of Java like documents and of selections taken from them.
+ *
+ * @author funhoff
+ */
+public final class SyntheticDocument {
+
+	/**
+	 * Words the lines are built of.
+	 */
+	private static final String[] WORDS = { "int", "String", "return", "if", "else", "for", "value", "index", "result", "count", "null", "this",
+			"new", "List", "Map", "get", "put", "size", "final", "private" };
+
+	/**
+	 * Private constructor.
+	 */
+	private SyntheticDocument() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Creates a document. The same seed always creates the same document.
+	 *
+	 * @param lineCount
+	 *            The number of lines.
+	 * @param seed
+	 *            The seed of the random generator.
+	 * @return The document.
+	 */
+	public static String create(int lineCount, long seed) {
+		Validate.isTrue(lineCount > 0);
+		Random random = new Random(seed);
+		StringBuilder document = new StringBuilder(lineCount * 40);
+		for (int line = 0; line < lineCount; line++) {
+			int indent = random.nextInt(4);
+			for (int i = 0; i < indent; i++) {
+				document.append('\t');
+			}
+			int wordCount = 2 + random.nextInt(6);
+			for (int i = 0; i < wordCount; i++) {
+				if (i > 0) {
+					document.append(' ');
+				}
+				document.append(WORDS[random.nextInt(WORDS.length)]);
+			}
+			document.append(random.nextBoolean() ? ";" : " {").append('\n');
+		}
+		return document.toString();
+	}
+
+	/**
+	 * Creates selections of about three lines taken from the given document.
+	 * Every second selection has a changed tail, as if the compared revision
+	 * differs from the workspace file, so only a prefix of it can be found.
+	 *
+	 * @param document
+	 *            The document.
+	 * @param count
+	 *            The number of selections.
+	 * @param seed
+	 *            The seed of the random generator.
+	 * @return The selections.
+	 */
+	public static String[] createSelections(String document, int count, long seed) {
+		Random random = new Random(seed);
+		String[] selections = new String[count];
+		for (int i = 0; i < count; i++) {
+			int start = random.nextInt(Math.max(1, document.length() - 200));
+			int end = Math.min(document.length(), start + 60 + random.nextInt(60));
+			String selection = document.substring(start, end);
+			selections[i] = i % 2 == 0 ? selection : selection.substring(0, selection.length() / 2) + " changed();";
+		}
+		return selections;
+	}
+
+}
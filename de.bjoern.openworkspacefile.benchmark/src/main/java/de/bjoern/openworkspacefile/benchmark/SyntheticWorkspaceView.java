@@ -0,0 +1,201 @@
+package de.bjoern.openworkspacefile.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * In-memory {@link WorkspaceView} of a generated workspace. Every project has
+ * a <code>pom.xml</code> and the top level folders <code>src</code> and
+ * <code>test</code>, each with a chain of nested package folders. Every
+ * package folder contains the same file names, so most names occur many times
+ * across folders and projects.
+ *
+ * @author funhoff
+ */
+public class SyntheticWorkspaceView implements WorkspaceView {
+
+	/**
+	 * Names of the top level folders of every project.
+	 */
+	private static final String[] TOP_LEVEL_FOLDER_NAMES = { "src", "test" };
+
+	/**
+	 * Names of the open projects.
+	 */
+	private final String[] projectNames;
+
+	/**
+	 * Files directly below each container.
+	 */
+	private final Map<IPath, List<IPath>> filesByContainer = new HashMap<IPath, List<IPath>>();
+
+	/**
+	 * Folders directly below each container.
+	 */
+	private final Map<IPath, List<IPath>> foldersByContainer = new HashMap<IPath, List<IPath>>();
+
+	/**
+	 * All files of the workspace.
+	 */
+	private final List<IPath> files = new ArrayList<IPath>();
+
+	/**
+	 * All files of the workspace, for existence checks.
+	 */
+	private final Set<IPath> fileSet = new HashSet<IPath>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param projectCount
+	 *            The number of projects.
+	 * @param depth
+	 *            The number of nested package folders below each top level
+	 *            folder.
+	 * @param filesPerFolder
+	 *            The number of files in each package folder, without the
+	 *            <code>package-info.java</code>.
+	 */
+	public SyntheticWorkspaceView(int projectCount, int depth, int filesPerFolder) {
+		Validate.isTrue(projectCount > 0);
+		Validate.isTrue(depth > 0);
+		projectNames = new String[projectCount];
+		for (int p = 0; p < projectCount; p++) {
+			projectNames[p] = "project" + p;
+			IPath projectPath = Path.ROOT.append(projectNames[p]);
+			addFile(projectPath, "pom.xml");
+			for (String topLevelFolderName : TOP_LEVEL_FOLDER_NAMES) {
+				IPath folderPath = addFolder(projectPath, topLevelFolderName);
+				for (int level = 0; level < depth; level++) {
+					folderPath = addFolder(folderPath, "pkg" + level);
+					addFile(folderPath, "package-info.java");
+					for (int f = 0; f < filesPerFolder; f++) {
+						addFile(folderPath, "Type" + f + ".java");
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns all files of the workspace.
+	 *
+	 * @return The full paths of all files.
+	 */
+	public List<IPath> getFiles() {
+		return Collections.unmodifiableList(files);
+	}
+
+	@Override
+	public String[] getOpenProjectNames() {
+		return projectNames.clone();
+	}
+
+	@Override
+	public IPath[] getTopLevelFolders(String projectName) {
+		List<IPath> folders = getChildren(foldersByContainer, Path.ROOT.append(projectName));
+		return folders.toArray(new IPath[folders.size()]);
+	}
+
+	@Override
+	public void visitFiles(IPath containerPath, boolean recursive, FileVisitor visitor) {
+		if (visitor.isDone()) {
+			return;
+		}
+		for (IPath file : getChildren(filesByContainer, containerPath)) {
+			if (visitor.acceptName(file.lastSegment())) {
+				visitor.visitFile(file);
+			}
+		}
+		if (recursive) {
+			for (IPath folder : getChildren(foldersByContainer, containerPath)) {
+				visitFiles(folder, true, visitor);
+			}
+		}
+	}
+
+	@Override
+	public boolean exists(IPath filePath) {
+		return fileSet.contains(filePath);
+	}
+
+	@Override
+	public IPath getCanonicalPath(IPath filePath) {
+		return filePath;
+	}
+
+	/**
+	 * Adds a folder.
+	 *
+	 * @param parentPath
+	 *            The full path of the parent container.
+	 * @param name
+	 *            The name of the folder.
+	 * @return The full path of the folder.
+	 */
+	private IPath addFolder(IPath parentPath, String name) {
+		IPath folderPath = parentPath.append(name);
+		addChild(foldersByContainer, parentPath, folderPath);
+		return folderPath;
+	}
+
+	/**
+	 * Adds a file.
+	 *
+	 * @param parentPath
+	 *            The full path of the parent container.
+	 * @param name
+	 *            The name of the file.
+	 */
+	private void addFile(IPath parentPath, String name) {
+		IPath filePath = parentPath.append(name);
+		addChild(filesByContainer, parentPath, filePath);
+		files.add(filePath);
+		fileSet.add(filePath);
+	}
+
+	/**
+	 * Adds a child to the given map.
+	 *
+	 * @param children
+	 *            The children by container.
+	 * @param parentPath
+	 *            The full path of the parent container.
+	 * @param childPath
+	 *            The full path of the child.
+	 */
+	private static void addChild(Map<IPath, List<IPath>> children, IPath parentPath, IPath childPath) {
+		List<IPath> list = children.get(parentPath);
+		if (list == null) {
+			list = new ArrayList<IPath>();
+			children.put(parentPath, list);
+		}
+		list.add(childPath);
+	}
+
+	/**
+	 * Returns the children of the given container.
+	 *
+	 * @param children
+	 *            The children by container.
+	 * @param containerPath
+	 *            The full path of the container.
+	 * @return The children, never <code>null</code>.
+	 */
+	private static List<IPath> getChildren(Map<IPath, List<IPath>> children, IPath containerPath) {
+		List<IPath> list = children.get(containerPath);
+		return list != null ? list : Collections.<IPath> emptyList();
+	}
+
+}
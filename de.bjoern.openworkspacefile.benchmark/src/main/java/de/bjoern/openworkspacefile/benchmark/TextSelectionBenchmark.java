@@ -0,0 +1,185 @@
+package de.bjoern.openworkspacefile.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.IRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.bjoern.openworkspacefile.util.ContentSketch;
+import de.bjoern.openworkspacefile.util.LongestPrefixMatcher;
+import de.bjoern.openworkspacefile.util.SnippetLocator;
+
+/**
+ * Benchmark of finding the selection of the compare editor in the workspace
+ * file, as <code>openEditorAndFindString</code> does before selecting the
+ * text. Half of the selections can only be found partially.
+ *
+ * @author funhoff
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextSelectionBenchmark {
+
+	/**
+	 * Number of prepared selections. Must be a power of two.
+	 */
+	private static final int SELECTION_COUNT = 64;
+
+	/**
+	 * Maximum distance to search, as <code>MAX_SEARCH_DISTANCE</code> of
+	 * <code>OpenWorkspaceFileHelper</code>.
+	 */
+	private static final int MAX_SEARCH_DISTANCE = 256 * 1024;
+
+	/**
+	 * The number of lines of the document.
+	 */
+	@Param({ "1000", "100000" })
+	private int lines;
+
+	/**
+	 * The document to search.
+	 */
+	private String document;
+
+	/**
+	 * The selections to find.
+	 */
+	private String[] selections;
+
+	/**
+	 * The offsets near which the selections are found, as mapped from the
+	 * compare editor.
+	 */
+	private int[] offsets;
+
+	/**
+	 * Offsets behind the selections, as if lines have been inserted before
+	 * the mapped line, so the only occurrence lies before the offset.
+	 */
+	private int[] laterOffsets;
+
+	/**
+	 * The selections, re-indented and with other line breaks, as if the
+	 * workspace file has been reformatted since the compared revision.
+	 */
+	private String[] reformattedSelections;
+
+	/**
+	 * The fingerprints of the document.
+	 */
+	private SnippetLocator locator;
+
+	/**
+	 * Index of the next selection.
+	 */
+	private int next;
+
+	/**
+	 * Creates the document and the selections.
+	 */
+	@Setup
+	public void setUp() {
+		document = SyntheticDocument.create(lines, 42);
+		selections = SyntheticDocument.createSelections(document, SELECTION_COUNT, 7);
+		offsets = new int[SELECTION_COUNT];
+		for (int i = 0; i < SELECTION_COUNT; i++) {
+			String start = selections[i].substring(0, Math.min(16, selections[i].length()));
+			offsets[i] = Math.max(0, document.indexOf(start));
+		}
+		laterOffsets = new int[SELECTION_COUNT];
+		for (int i = 0; i < SELECTION_COUNT; i++) {
+			laterOffsets[i] = Math.min(document.length(), offsets[i] + selections[i].length() + 1024);
+		}
+		reformattedSelections = new String[SELECTION_COUNT];
+		for (int i = 0; i < SELECTION_COUNT; i++) {
+			reformattedSelections[i] = selections[i].replace("\t", "    ").replace(" {", "\n{");
+		}
+		locator = new SnippetLocator(document);
+	}
+
+	/**
+	 * Finds the longest prefix of a selection in the document.
+	 *
+	 * @return The found region.
+	 */
+	@Benchmark
+	public IRegion findLongestPrefix() {
+		String selection = selections[next++ & (SELECTION_COUNT - 1)];
+		return new LongestPrefixMatcher(selection).find(document);
+	}
+
+	/**
+	 * Finds the longest prefix of a selection outward from the offset it has
+	 * been mapped to.
+	 *
+	 * @return The found region.
+	 */
+	@Benchmark
+	public IRegion findNearOffset() {
+		int index = next++ & (SELECTION_COUNT - 1);
+		return new LongestPrefixMatcher(selections[index]).findNear(document, offsets[index], MAX_SEARCH_DISTANCE);
+	}
+
+	/**
+	 * Finds the longest prefix of a selection outward from an offset behind
+	 * it.
+	 *
+	 * @return The found region.
+	 */
+	@Benchmark
+	public IRegion findBeforeOffset() {
+		int index = next++ & (SELECTION_COUNT - 1);
+		return new LongestPrefixMatcher(selections[index]).findNear(document, laterOffsets[index], MAX_SEARCH_DISTANCE);
+	}
+
+	/**
+	 * Locates a reformatted selection by the fingerprints of the document.
+	 *
+	 * @return The found region.
+	 */
+	@Benchmark
+	public IRegion locateReformatted() {
+		int index = next++ & (SELECTION_COUNT - 1);
+		return locator.locate(document, reformattedSelections[index], offsets[index]);
+	}
+
+	/**
+	 * Fingerprints the whole document.
+	 *
+	 * @return The locator.
+	 */
+	@Benchmark
+	public SnippetLocator fingerprintDocument() {
+		return new SnippetLocator(document);
+	}
+
+	/**
+	 * Sketches the whole document, as the content of a candidate is compared
+	 * with the revision.
+	 *
+	 * @return The sketch.
+	 * @throws UnsupportedEncodingException
+	 *             If UTF-8 is not supported.
+	 */
+	@Benchmark
+	public ContentSketch sketchDocument() throws UnsupportedEncodingException {
+		return ContentSketch.create(document.getBytes("UTF-8"), "UTF-8");
+	}
+
+}
@@ -1,7 +1,49 @@
 package de.bjoern.openworkspacefile;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ISavedState;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.jgit.events.ListenerHandle;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.osgi.service.prefs.BackingStoreException;
+
+import de.bjoern.openworkspacefile.preferences.PreferenceConstants;
+import de.bjoern.openworkspacefile.resolver.FuzzyNameStrategy;
+import de.bjoern.openworkspacefile.resolver.IndexStrategy;
+import de.bjoern.openworkspacefile.resolver.ProjectRootStrategy;
+import de.bjoern.openworkspacefile.resolver.ProjectRoots;
+import de.bjoern.openworkspacefile.resolver.RememberedChoiceStrategy;
+import de.bjoern.openworkspacefile.resolver.RememberedChoices;
+import de.bjoern.openworkspacefile.resolver.RenameStrategy;
+import de.bjoern.openworkspacefile.resolver.RenamedPaths;
+import de.bjoern.openworkspacefile.resolver.RepositoryMappingStrategy;
+import de.bjoern.openworkspacefile.resolver.SuffixProbeStrategy;
+import de.bjoern.openworkspacefile.resolver.WorkspaceFileResolver;
+import de.bjoern.openworkspacefile.util.EclipseWorkspaceView;
+import de.bjoern.openworkspacefile.util.GitRenameTracker;
+import de.bjoern.openworkspacefile.util.GitRepositoryMappingTracker;
+import de.bjoern.openworkspacefile.util.ProjectNestingTracker;
+import de.bjoern.openworkspacefile.util.ResolutionCache;
+import de.bjoern.openworkspacefile.util.TeamProjectRoots;
+import de.bjoern.openworkspacefile.util.WorkspaceFileIndex;
 
 /**
  * The activator class controls the plug-in life cycle
@@ -13,11 +55,113 @@ public class Activator extends AbstractUIPlugin {
 	 */
 	public static final String PLUGIN_ID = "de.bjoern.compare.openfile"; //$NON-NLS-1$
 
+	/**
+	 * Trace option enabling the timing of the opening stages.
+	 */
+	private static final String DEBUG_TIMING_OPTION = "/debug/timing"; //$NON-NLS-1$
+
+	/**
+	 * Preference node storing the remembered choices of the user.
+	 */
+	private static final String REMEMBERED_CHOICES_NODE = "rememberedChoices"; //$NON-NLS-1$
+
+	/**
+	 * Preference node storing the known project roots.
+	 */
+	private static final String PROJECT_ROOTS_NODE = "projectRoots"; //$NON-NLS-1$
+
+	/**
+	 * Preference node storing the renames read from the Git histories.
+	 */
+	private static final String RENAMED_PATHS_NODE = "renamedPaths"; //$NON-NLS-1$
+
+	/**
+	 * Preference node storing the last Git heads the renames have been read
+	 * from.
+	 */
+	private static final String RENAME_HEADS_NODE = "renameHeads"; //$NON-NLS-1$
+
 	/**
 	 * The shared instance
 	 */
 	private static Activator plugin;
 
+	/**
+	 * Index of all workspace files by name.
+	 */
+	private WorkspaceFileIndex workspaceFileIndex;
+
+	/**
+	 * Cache of resolved workspace files by repository path.
+	 */
+	private ResolutionCache resolutionCache;
+
+	/**
+	 * Choices of the user among ambiguous files.
+	 */
+	private RememberedChoices rememberedChoices;
+
+	/**
+	 * Repository roots of the projects.
+	 */
+	private ProjectRoots projectRoots;
+
+	/**
+	 * Tracker of the nesting of the projects.
+	 */
+	private ProjectNestingTracker projectNestingTracker;
+
+	/**
+	 * Tracker of the repository mappings of the projects shared with Git.
+	 */
+	private GitRepositoryMappingTracker gitRepositoryMappingTracker;
+
+	/**
+	 * Renames of files read from the Git histories.
+	 */
+	private RenamedPaths renamedPaths;
+
+	/**
+	 * Reader of the renames of the Git histories.
+	 */
+	private GitRenameTracker gitRenameTracker;
+
+	/**
+	 * Registration of the {@link #gitRenameTracker} for changed Git refs.
+	 */
+	private ListenerHandle refsChangedHandle;
+
+	/**
+	 * Resolver of repository paths to workspace files.
+	 */
+	private WorkspaceFileResolver workspaceFileResolver;
+
+	/**
+	 * Job restoring the state of the last session and registering the
+	 * trackers, see {@link #restoreState()}.
+	 */
+	private Job startupJob;
+
+	/**
+	 * <code>true</code> once the state of the last session has been restored,
+	 * so it may be stored again.
+	 */
+	private volatile boolean stateRestored;
+
+	/**
+	 * Clears the resolution cache when the preferred one of nested projects
+	 * changes.
+	 */
+	private final IPropertyChangeListener preferenceListener = new IPropertyChangeListener() {
+
+		@Override
+		public void propertyChange(PropertyChangeEvent event) {
+			if (PreferenceConstants.NESTED_PROJECTS.equals(event.getProperty())) {
+				resolutionCache.clear();
+			}
+		}
+	};
+
 	/**
 	 * The constructor
 	 */
@@ -35,6 +179,79 @@ public class Activator extends AbstractUIPlugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		plugin = this;
+		workspaceFileIndex = new WorkspaceFileIndex();
+		resolutionCache = new ResolutionCache();
+		rememberedChoices = new RememberedChoices();
+		projectRoots = new ProjectRoots();
+		projectNestingTracker = new ProjectNestingTracker();
+		gitRepositoryMappingTracker = new GitRepositoryMappingTracker(resolutionCache);
+		renamedPaths = new RenamedPaths();
+		gitRenameTracker = new GitRenameTracker(renamedPaths);
+		RepositoryMappingStrategy repositoryMappingStrategy = new RepositoryMappingStrategy(gitRepositoryMappingTracker);
+		SuffixProbeStrategy suffixProbeStrategy = new SuffixProbeStrategy();
+		workspaceFileResolver = new WorkspaceFileResolver(new EclipseWorkspaceView(projectNestingTracker), new RememberedChoiceStrategy(rememberedChoices),
+				repositoryMappingStrategy, new RenameStrategy(renamedPaths, repositoryMappingStrategy, suffixProbeStrategy), new ProjectRootStrategy(projectRoots),
+				suffixProbeStrategy, new IndexStrategy(workspaceFileIndex), new FuzzyNameStrategy(workspaceFileIndex));
+		// the activation may happen in the UI thread, so everything reading files or preferences runs in a job
+		startupJob = new Job("Restoring open workspace file state") {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				restoreState();
+				return Status.OK_STATUS;
+			}
+		};
+		startupJob.setSystem(true);
+		startupJob.schedule();
+	}
+
+	/**
+	 * Restores the index snapshot and the stored maps of the last session,
+	 * registers the listeners keeping them up to date and starts the
+	 * background jobs filling them. Runs in the {@link #startupJob}.
+	 */
+	private void restoreState() {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		OpenWorkspaceFileSaveParticipant saveParticipant = new OpenWorkspaceFileSaveParticipant(workspaceFileIndex);
+		try {
+			ISavedState savedState = workspace.addSaveParticipant(PLUGIN_ID, saveParticipant);
+			saveParticipant.restore(savedState);
+		}
+		catch (CoreException e) {
+			getLog().log(new Status(IStatus.WARNING, PLUGIN_ID, "The workspace file index could not be restored", e));
+		}
+		workspace.addResourceChangeListener(workspaceFileIndex, IResourceChangeEvent.POST_CHANGE);
+		workspace.addResourceChangeListener(resolutionCache, IResourceChangeEvent.POST_CHANGE);
+		rememberedChoices.load(loadMap(REMEMBERED_CHOICES_NODE));
+		projectRoots.load(loadMap(PROJECT_ROOTS_NODE));
+		TeamProjectRoots.schedule(projectRoots);
+		workspace.addResourceChangeListener(projectNestingTracker, IResourceChangeEvent.POST_CHANGE);
+		workspace.addResourceChangeListener(gitRepositoryMappingTracker, IResourceChangeEvent.POST_CHANGE);
+		renamedPaths.load(loadMap(RENAMED_PATHS_NODE));
+		gitRenameTracker.load(loadMap(RENAME_HEADS_NODE));
+		refsChangedHandle = Repository.getGlobalListenerList().addRefsChangedListener(gitRenameTracker);
+		gitRenameTracker.schedule();
+		getPreferenceStore().addPropertyChangeListener(preferenceListener);
+		stateRestored = true;
+		workspaceFileIndex.scheduleBuild();
+	}
+
+	/**
+	 * Waits until the state of the last session has been restored, so the
+	 * remembered choices and known roots take part in the resolution. Must
+	 * not be called in the UI thread.
+	 *
+	 * @throws OperationCanceledException
+	 *             If the waiting thread has been interrupted.
+	 */
+	public void awaitStartup() {
+		try {
+			startupJob.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
 	}
 
 	/*
@@ -46,6 +263,36 @@ public class Activator extends AbstractUIPlugin {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		startupJob.cancel();
+		startupJob.join();
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		getPreferenceStore().removePropertyChangeListener(preferenceListener);
+		if (refsChangedHandle != null) {
+			refsChangedHandle.remove();
+		}
+		gitRenameTracker.cancel();
+		workspace.removeResourceChangeListener(gitRepositoryMappingTracker);
+		workspace.removeResourceChangeListener(projectNestingTracker);
+		workspace.removeResourceChangeListener(resolutionCache);
+		workspace.removeResourceChangeListener(workspaceFileIndex);
+		workspace.removeSaveParticipant(PLUGIN_ID);
+		if (stateRestored) {
+			// otherwise the stored maps have not been loaded and must not be overwritten
+			storeMap(PROJECT_ROOTS_NODE, projectRoots.toMap());
+			storeMap(RENAMED_PATHS_NODE, renamedPaths.toMap());
+			storeMap(RENAME_HEADS_NODE, gitRenameTracker.toMap());
+		}
+		workspaceFileResolver = null;
+		startupJob = null;
+		refsChangedHandle = null;
+		gitRenameTracker = null;
+		renamedPaths = null;
+		gitRepositoryMappingTracker = null;
+		projectNestingTracker = null;
+		projectRoots = null;
+		rememberedChoices = null;
+		resolutionCache = null;
+		workspaceFileIndex = null;
 		plugin = null;
 		super.stop(context);
 	}
@@ -59,4 +306,126 @@ public class Activator extends AbstractUIPlugin {
 		return plugin;
 	}
 
+	/**
+	 * Returns <code>true</code> if the timing of the opening stages should be
+	 * logged.
+	 * 
+	 * @return <code>true</code> if the timing trace option is enabled.
+	 */
+	public boolean isTimingEnabled() {
+		return isDebugging() && Boolean.parseBoolean(Platform.getDebugOption(getBundle().getSymbolicName() + DEBUG_TIMING_OPTION));
+	}
+
+	/**
+	 * Returns the index of all workspace files by name.
+	 * 
+	 * @return The workspace file index.
+	 */
+	public WorkspaceFileIndex getWorkspaceFileIndex() {
+		return workspaceFileIndex;
+	}
+
+	/**
+	 * Returns the cache of resolved workspace files by repository path.
+	 * 
+	 * @return The resolution cache.
+	 */
+	public ResolutionCache getResolutionCache() {
+		return resolutionCache;
+	}
+
+	/**
+	 * Returns the resolver of repository paths to workspace files.
+	 * 
+	 * @return The workspace file resolver.
+	 */
+	public WorkspaceFileResolver getWorkspaceFileResolver() {
+		return workspaceFileResolver;
+	}
+
+	/**
+	 * Returns the repository roots of the projects.
+	 * 
+	 * @return The project roots.
+	 */
+	public ProjectRoots getProjectRoots() {
+		return projectRoots;
+	}
+
+	/**
+	 * Remembers that the user chose the given file for the given repository
+	 * path, so other paths below the same repository prefix resolve to the
+	 * same project, and stores the choices.
+	 * 
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository if the path is relative
+	 *            to it, otherwise <code>null</code>.
+	 * @param path
+	 *            The full path of the chosen file.
+	 */
+	public void rememberChoice(String repositoryPath, String repositoryRoot, IPath path) {
+		if (!rememberedChoices.remember(repositoryPath, repositoryRoot, path)) {
+			return;
+		}
+		resolutionCache.clear();
+		storeMap(REMEMBERED_CHOICES_NODE, rememberedChoices.toMap());
+	}
+
+	/**
+	 * Loads a map of strings from the given preference node.
+	 * 
+	 * @param nodeName
+	 *            The name of the preference node.
+	 * @return The stored map. Empty if nothing has been stored.
+	 */
+	private Map<String, String> loadMap(String nodeName) {
+		Map<String, String> map = new LinkedHashMap<String, String>();
+		IEclipsePreferences node = getNode(nodeName);
+		try {
+			for (String key : node.keys()) {
+				map.put(key, node.get(key, null));
+			}
+		}
+		catch (BackingStoreException e) {
+			getLog().log(new Status(IStatus.ERROR, PLUGIN_ID, "Failed to load the preferences " + nodeName, e));
+		}
+		return map;
+	}
+
+	/**
+	 * Replaces the content of the given preference node by the given map and
+	 * flushes it.
+	 * 
+	 * @param nodeName
+	 *            The name of the preference node.
+	 * @param map
+	 *            The map to store.
+	 */
+	private void storeMap(String nodeName, Map<String, String> map) {
+		IEclipsePreferences node = getNode(nodeName);
+		try {
+			node.clear();
+			for (Map.Entry<String, String> entry : map.entrySet()) {
+				node.put(entry.getKey(), entry.getValue());
+			}
+			node.flush();
+		}
+		catch (BackingStoreException e) {
+			getLog().log(new Status(IStatus.ERROR, PLUGIN_ID, "Failed to store the preferences " + nodeName, e));
+		}
+	}
+
+	/**
+	 * Returns the given child node of the instance preferences.
+	 * 
+	 * @param nodeName
+	 *            The name of the preference node.
+	 * @return The preference node.
+	 */
+	private IEclipsePreferences getNode(String nodeName) {
+		return (IEclipsePreferences) InstanceScope.INSTANCE.getNode(getBundle().getSymbolicName()).node(nodeName);
+	}
+
 }
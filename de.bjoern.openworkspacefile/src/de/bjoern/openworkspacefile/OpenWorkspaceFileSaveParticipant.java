@@ -0,0 +1,135 @@
+package de.bjoern.openworkspacefile;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.resources.ISavedState;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+
+import de.bjoern.openworkspacefile.util.WorkspaceFileIndex;
+
+/**
+ * Save participant writing the {@link WorkspaceFileIndex} to the plug-in
+ * state location on every full workspace save.
+ *
+ * @author funhoff
+ */
+public class OpenWorkspaceFileSaveParticipant implements ISaveParticipant {
+
+	/**
+	 * Logical name of the index snapshot in the saved state.
+	 */
+	private static final IPath INDEX_SNAPSHOT_KEY = new Path("workspaceFileIndex");
+
+	/**
+	 * Prefix of the index snapshot file names.
+	 */
+	private static final String INDEX_SNAPSHOT_PREFIX = "workspaceFileIndex-";
+
+	/**
+	 * The index to save.
+	 */
+	private final WorkspaceFileIndex index;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param index
+	 *            The index to save.
+	 * @since Creation date: 17.10.2026
+	 */
+	public OpenWorkspaceFileSaveParticipant(WorkspaceFileIndex index) {
+		this.index = index;
+	}
+
+	/**
+	 * Restores the index from the given saved state and applies the resource
+	 * changes since that state was saved.
+	 *
+	 * @param savedState
+	 *            The state of the last save. Can be <code>null</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void restore(ISavedState savedState) {
+		if (savedState == null) {
+			return;
+		}
+		IPath snapshotPath = savedState.lookup(INDEX_SNAPSHOT_KEY);
+		if (snapshotPath == null) {
+			return;
+		}
+		try {
+			File snapshotFile = getStateFile(snapshotPath.toString());
+			if (index.load(snapshotFile)) {
+				savedState.processResourceChangeEvents(index);
+			}
+		}
+		catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "The workspace file index could not be restored", e));
+		}
+	}
+
+	@Override
+	public void prepareToSave(ISaveContext context) throws CoreException {
+		// nothing to prepare
+	}
+
+	@Override
+	public void saving(ISaveContext context) throws CoreException {
+		if (context.getKind() != ISaveContext.FULL_SAVE || !index.isBuilt()) {
+			return;
+		}
+		String snapshotName = INDEX_SNAPSHOT_PREFIX + context.getSaveNumber();
+		try {
+			if (!index.save(getStateFile(snapshotName))) {
+				return;
+			}
+		}
+		catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The workspace file index could not be saved", e));
+		}
+		context.map(INDEX_SNAPSHOT_KEY, new Path(snapshotName));
+		context.needSaveNumber();
+	}
+
+	/**
+	 * Deletes the previous snapshot, but only if this save wrote a new one.
+	 * Otherwise the saved state still refers to the previous snapshot.
+	 */
+	@Override
+	public void doneSaving(ISaveContext context) {
+		if (!new Path(INDEX_SNAPSHOT_PREFIX + context.getSaveNumber()).equals(context.lookup(INDEX_SNAPSHOT_KEY))) {
+			return;
+		}
+		File previousSnapshot = getStateFile(INDEX_SNAPSHOT_PREFIX + context.getPreviousSaveNumber());
+		if (previousSnapshot.exists()) {
+			previousSnapshot.delete();
+		}
+	}
+
+	@Override
+	public void rollback(ISaveContext context) {
+		File snapshot = getStateFile(INDEX_SNAPSHOT_PREFIX + context.getSaveNumber());
+		if (snapshot.exists()) {
+			snapshot.delete();
+		}
+	}
+
+	/**
+	 * Returns the file with the given name in the plug-in state location.
+	 *
+	 * @param name
+	 *            The file name.
+	 * @return The file in the state location.
+	 */
+	private File getStateFile(String name) {
+		return Activator.getDefault().getStateLocation().append(name).toFile();
+	}
+
+}
@@ -0,0 +1,21 @@
+package de.bjoern.openworkspacefile;
+
+import org.eclipse.ui.IStartup;
+
+/**
+ * Activates the plug-in after the workbench has started, so the first open
+ * does not wait for the workspace file index. The activation schedules a job
+ * restoring the index snapshot of the last session and applying the resource
+ * changes since then; only without a snapshot the index is built in the
+ * background afterwards.
+ *
+ * @author funhoff
+ */
+public class OpenWorkspaceFileStartup implements IStartup {
+
+	@Override
+	public void earlyStartup() {
+		// loading this class has activated the plug-in, which warms up the index
+	}
+
+}
@@ -1,9 +1,14 @@
 package de.bjoern.openworkspacefile.handler;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.compare.CompareEditorInput;
 import org.eclipse.compare.IResourceProvider;
 import org.eclipse.compare.ITypedElement;
 import org.eclipse.compare.structuremergeviewer.ICompareInput;
+import org.eclipse.compare.structuremergeviewer.IDiffContainer;
+import org.eclipse.compare.structuremergeviewer.IDiffElement;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
@@ -21,10 +26,12 @@ import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.handlers.HandlerUtil;
 
 import de.bjoern.openworkspacefile.util.OpenWorkspaceFileHelper;
+import de.bjoern.openworkspacefile.util.OpenWorkspaceFilesJob;
 import de.bjoern.openworkspacefile.util.SearchAndOpenFileInWorkspaceJob;
 
 /**
- * Handler to open the source of the compare editor.
+ * Handler to open the source of the compare editor. The files of a compare
+ * of several files are opened together.
  * 
  * @author funhoff
  */
@@ -59,13 +66,73 @@ public class OpenWorkspaceFileCompareEditorHandler extends AbstractHandler {
 
 		final CompareEditorInput compareEditorInput = (CompareEditorInput) activeEditor.getEditorInput();
 		Object compareResult = compareEditorInput.getCompareResult();
-		if (compareResult instanceof ICompareInput) {
+		if (compareResult instanceof IDiffContainer && ((IDiffContainer) compareResult).hasChildren()) {
+			openDiffContainer(activePage, (IDiffContainer) compareResult, selectedText, offset);
+		}
+		else if (compareResult instanceof ICompareInput) {
 			openCompareInput(activePage, (ICompareInput) compareResult, selectedText, offset);
 		}
 
 		return null;
 	}
 
+	/**
+	 * Opens the resources of all files compared in the given diff tree. A
+	 * single file is opened like a single {@link ICompareInput}, several files
+	 * are resolved and opened together by an {@link OpenWorkspaceFilesJob}.
+	 * 
+	 * @param activePage
+	 *            The active page.
+	 * @param diffContainer
+	 *            The root of the diff tree.
+	 * @param selectedText
+	 *            The selected text. Can be <code>null</code>.
+	 * @param offset
+	 *            The offset of the text selection.
+	 * @since Creation date: 17.10.2026
+	 */
+	private void openDiffContainer(IWorkbenchPage activePage, IDiffContainer diffContainer, String selectedText, int offset) {
+		List<ICompareInput> compareInputs = new ArrayList<ICompareInput>();
+		collectCompareInputs(diffContainer, compareInputs);
+		if (compareInputs.size() == 1) {
+			openCompareInput(activePage, compareInputs.get(0), selectedText, offset);
+			return;
+		}
+		OpenWorkspaceFilesJob job = new OpenWorkspaceFilesJob(activePage);
+		for (ICompareInput compareInput : compareInputs) {
+			ITypedElement leftElement = compareInput.getLeft();
+			ITypedElement rightElement = compareInput.getRight();
+			addTypedElement(job, leftElement);
+			if (isDifferentElement(leftElement, rightElement)) {
+				addTypedElement(job, rightElement);
+			}
+		}
+		if (job.getFileCount() > 0) {
+			job.schedule();
+		}
+	}
+
+	/**
+	 * Collects the compared files below the given element of a diff tree.
+	 * Folders without children are skipped.
+	 * 
+	 * @param element
+	 *            The element of the diff tree.
+	 * @param compareInputs
+	 *            The list to add the compared files to.
+	 * @since Creation date: 17.10.2026
+	 */
+	private void collectCompareInputs(IDiffElement element, List<ICompareInput> compareInputs) {
+		if (element instanceof IDiffContainer && ((IDiffContainer) element).hasChildren()) {
+			for (IDiffElement child : ((IDiffContainer) element).getChildren()) {
+				collectCompareInputs(child, compareInputs);
+			}
+		}
+		else if (element instanceof ICompareInput && !ITypedElement.FOLDER_TYPE.equals(element.getType())) {
+			compareInputs.add((ICompareInput) element);
+		}
+	}
+
 	/**
 	 * Opens the resource of the given {@link ICompareInput} and selects the
 	 * given text. If the text is <code>null</code> or empty, the resource will
@@ -162,19 +229,49 @@ public class OpenWorkspaceFileCompareEditorHandler extends AbstractHandler {
 		else if (element instanceof ResourceElement) {
 			IRepositoryResource repositoryResource = ((ResourceElement) element).getRepositoryResource();
 			String url = repositoryResource.getUrl();
-			IFile workspaceFile = OpenWorkspaceFileHelper.getWorkspaceFile(url);
-			Job job = createJobWithFile(activePage, selectedText, offset, workspaceFile);
+			SearchAndOpenFileInWorkspaceJob job = createJobWithRepositoryPath(activePage, selectedText, offset, url);
+			job.setRevision(element, url + "@" + repositoryResource.getSelectedRevision());
 			job.schedule();
 		}
 		else if (element instanceof FileRevisionTypedElement) {
 			FileRevisionTypedElement fileRevisionTypedElement = (FileRevisionTypedElement) element;
 			String path = fileRevisionTypedElement.getPath();
-			IFile workspaceFile = OpenWorkspaceFileHelper.getWorkspaceFile(path);
-			Job job = createJobWithFile(activePage, selectedText, offset, workspaceFile);
+			SearchAndOpenFileInWorkspaceJob job = createJobWithRepositoryPath(activePage, selectedText, offset, path);
+			job.setRevision(element, path + "@" + fileRevisionTypedElement.getContentIdentifier());
 			job.schedule();
 		}
 	}
 
+	/**
+	 * Adds the given {@link ITypedElement} to the files opened by the given
+	 * job.
+	 * 
+	 * @param job
+	 *            The job opening several files.
+	 * @param element
+	 *            The {@link ITypedElement} to open. Can be <code>null</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	@SuppressWarnings("restriction")
+	private void addTypedElement(OpenWorkspaceFilesJob job, ITypedElement element) {
+		if (element instanceof IResourceProvider) {
+			IResource resource = ((IResourceProvider) element).getResource();
+			if (resource instanceof IFile) {
+				job.addFile((IFile) resource);
+			}
+		}
+		else if (element instanceof ResourceElement) {
+			IRepositoryResource repositoryResource = ((ResourceElement) element).getRepositoryResource();
+			String url = repositoryResource.getUrl();
+			job.addRepositoryPath(url, element, url + "@" + repositoryResource.getSelectedRevision());
+		}
+		else if (element instanceof FileRevisionTypedElement) {
+			FileRevisionTypedElement fileRevisionTypedElement = (FileRevisionTypedElement) element;
+			String path = fileRevisionTypedElement.getPath();
+			job.addRepositoryPath(path, element, path + "@" + fileRevisionTypedElement.getContentIdentifier());
+		}
+	}
+
 	/**
 	 * Creates the job to open the given file.
 	 * 
@@ -192,7 +289,7 @@ public class OpenWorkspaceFileCompareEditorHandler extends AbstractHandler {
 	private Job createJobWithFile(IWorkbenchPage activePage, String selectedText, int offset, IFile file) {
 		Job job;
 		if (selectedText != null && !selectedText.isEmpty()) {
-			job = new SearchAndOpenFileInWorkspaceJob(activePage, file, selectedText);
+			job = new SearchAndOpenFileInWorkspaceJob(activePage, file, selectedText, offset);
 		}
 		else {
 			job = new SearchAndOpenFileInWorkspaceJob(activePage, file, offset);
@@ -200,4 +297,30 @@ public class OpenWorkspaceFileCompareEditorHandler extends AbstractHandler {
 		return job;
 	}
 
+	/**
+	 * Creates the job to resolve and open the workspace file of the given
+	 * repository path.
+	 * 
+	 * @param activePage
+	 *            The active page.
+	 * @param selectedText
+	 *            The selected text.
+	 * @param offset
+	 *            The offset.
+	 * @param repositoryPath
+	 *            The repository path of the file to open.
+	 * @return The created job.
+	 * @since Creation date: 17.10.2026
+	 */
+	private SearchAndOpenFileInWorkspaceJob createJobWithRepositoryPath(IWorkbenchPage activePage, String selectedText, int offset, String repositoryPath) {
+		SearchAndOpenFileInWorkspaceJob job;
+		if (selectedText != null && !selectedText.isEmpty()) {
+			job = new SearchAndOpenFileInWorkspaceJob(activePage, repositoryPath, selectedText, offset);
+		}
+		else {
+			job = new SearchAndOpenFileInWorkspaceJob(activePage, repositoryPath, offset);
+		}
+		return job;
+	}
+
 }
@@ -1,5 +1,9 @@
 package de.bjoern.openworkspacefile.handler;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
@@ -15,6 +19,7 @@ import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.handlers.HandlerUtil;
 
 import de.bjoern.openworkspacefile.util.OpenWorkspaceFileHelper;
+import de.bjoern.openworkspacefile.util.OpenWorkspaceFilesJob;
 import de.bjoern.openworkspacefile.util.SearchAndOpenFileInWorkspaceJob;
 
 /**
@@ -45,7 +50,8 @@ public class OpenWorkspaceFileHistoryViewHandler extends AbstractHandler {
 	}
 
 	/**
-	 * Opens the active menu selection.
+	 * Opens the active menu selection. Several selected
+	 * {@link SVNChangedPathData} are opened together.
 	 * 
 	 * @param activePage
 	 *            The active page.
@@ -55,9 +61,20 @@ public class OpenWorkspaceFileHistoryViewHandler extends AbstractHandler {
 	 */
 	private void openActiveMenuSelection(IWorkbenchPage activePage, ISelection activeMenuSelection) {
 		IStructuredSelection structuredSelection = (IStructuredSelection) activeMenuSelection;
-		Object firstElement = structuredSelection.getFirstElement();
-		if (firstElement instanceof SVNChangedPathData) {
-			openSVNChangedPathData(activePage, (SVNChangedPathData) firstElement);
+		List<String> filePaths = new ArrayList<String>();
+		for (Iterator<?> iterator = structuredSelection.iterator(); iterator.hasNext();) {
+			Object element = iterator.next();
+			if (element instanceof SVNChangedPathData) {
+				filePaths.add(getFilePath((SVNChangedPathData) element));
+			}
+		}
+		if (filePaths.size() == 1) {
+			Job job = new SearchAndOpenFileInWorkspaceJob(activePage, filePaths.get(0));
+			job.schedule();
+		}
+		else if (filePaths.size() > 1) {
+			Job job = new OpenWorkspaceFilesJob(activePage, filePaths);
+			job.schedule();
 		}
 		else {
 			openHistoryViewSource(activePage);
@@ -65,19 +82,15 @@ public class OpenWorkspaceFileHistoryViewHandler extends AbstractHandler {
 	}
 
 	/**
-	 * Opens the selected {@link SVNChangedPathData}.
+	 * Returns the repository path of the given {@link SVNChangedPathData}.
 	 * 
-	 * @param activePage
-	 *            The active page.
 	 * @param data
-	 *            The data to open.
+	 *            The changed path data.
+	 * @return The repository path of the file.
 	 * @since Creation date: 26.03.2012
 	 */
-	private void openSVNChangedPathData(IWorkbenchPage activePage, SVNChangedPathData data) {
-		String filePath = data.resourcePath + OpenWorkspaceFileHelper.PATH_SEPARATOR + data.resourceName;
-		IFile workspaceFile = OpenWorkspaceFileHelper.getWorkspaceFile(filePath);
-		Job job = new SearchAndOpenFileInWorkspaceJob(activePage, workspaceFile);
-		job.schedule();
+	private String getFilePath(SVNChangedPathData data) {
+		return data.resourcePath + OpenWorkspaceFileHelper.PATH_SEPARATOR + data.resourceName;
 	}
 
 	/**
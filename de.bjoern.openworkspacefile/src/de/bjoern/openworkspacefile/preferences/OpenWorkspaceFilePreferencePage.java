@@ -0,0 +1,50 @@
+package de.bjoern.openworkspacefile.preferences;
+
+import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
+import org.eclipse.jface.preference.RadioGroupFieldEditor;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPreferencePage;
+
+import de.bjoern.openworkspacefile.Activator;
+
+/**
+ * Preference page of the plug-in.
+ *
+ * @author funhoff
+ */
+public class OpenWorkspaceFilePreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
+
+	/**
+	 * Constructor.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	public OpenWorkspaceFilePreferencePage() {
+		super(GRID);
+		setPreferenceStore(Activator.getDefault().getPreferenceStore());
+		setDescription("Settings for opening the workspace file from the compare editor and history view.");
+	}
+
+	@Override
+	public void init(IWorkbench workbench) {
+		// nothing to initialize
+	}
+
+	@Override
+	protected void createFieldEditors() {
+		addField(new BooleanFieldEditor(PreferenceConstants.MAP_OFFSET_BY_DIFF, "&Map the cursor position through the changes since the compared revision", getFieldEditorParent()));
+		IntegerFieldEditor maxBatchOpenFiles = new IntegerFieldEditor(PreferenceConstants.MAX_BATCH_OPEN_FILES, "Maximum number of &editors opened at once:", getFieldEditorParent());
+		maxBatchOpenFiles.setValidRange(1, 500);
+		addField(maxBatchOpenFiles);
+		addField(new BooleanFieldEditor(PreferenceConstants.ASK_IF_AMBIGUOUS, "&Ask which file to open if several files match equally well", getFieldEditorParent()));
+		addField(new RadioGroupFieldEditor(PreferenceConstants.NESTED_PROJECTS, "Open files of nested projects in", 1, new String[][] {
+				{ "the &innermost project (module)", PreferenceConstants.NESTED_PROJECTS_INNERMOST },
+				{ "the &outermost project (aggregate)", PreferenceConstants.NESTED_PROJECTS_OUTERMOST } }, getFieldEditorParent(), true));
+		IntegerFieldEditor largeFileSize = new IntegerFieldEditor(PreferenceConstants.LARGE_FILE_SIZE, "Open files from this size in KB in the &plain text editor (0 = never):", getFieldEditorParent());
+		largeFileSize.setValidRange(0, Integer.MAX_VALUE / 1024);
+		addField(largeFileSize);
+	}
+
+}
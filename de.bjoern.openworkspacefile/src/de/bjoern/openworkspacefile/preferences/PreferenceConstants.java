@@ -0,0 +1,60 @@
+package de.bjoern.openworkspacefile.preferences;
+
+/**
+ * Constants of the plug-in preferences.
+ *
+ * @author funhoff
+ */
+public final class PreferenceConstants {
+
+	/**
+	 * <code>true</code> if the offset of the compare editor is mapped through
+	 * the differences between the revision and the workspace file.
+	 */
+	public static final String MAP_OFFSET_BY_DIFF = "mapOffsetByDiff";
+
+	/**
+	 * Maximum number of editors opened at once for a multi selection.
+	 */
+	public static final String MAX_BATCH_OPEN_FILES = "maxBatchOpenFiles";
+
+	/**
+	 * <code>true</code> if the user is asked which file to open when several
+	 * files match equally well.
+	 */
+	public static final String ASK_IF_AMBIGUOUS = "askIfAmbiguous";
+
+	/**
+	 * Which of nested projects sharing a file opens it, one of
+	 * {@link #NESTED_PROJECTS_INNERMOST} and {@link #NESTED_PROJECTS_OUTERMOST}.
+	 */
+	public static final String NESTED_PROJECTS = "nestedProjects";
+
+	/**
+	 * Value of {@link #NESTED_PROJECTS}: the innermost project, e.g. the
+	 * module.
+	 */
+	public static final String NESTED_PROJECTS_INNERMOST = "innermost";
+
+	/**
+	 * Value of {@link #NESTED_PROJECTS}: the outermost project, e.g. the
+	 * aggregate project.
+	 */
+	public static final String NESTED_PROJECTS_OUTERMOST = "outermost";
+
+	/**
+	 * Size in KB from which files are searched without a file buffer and
+	 * opened in the plain text editor. 0 disables the preview mode.
+	 */
+	public static final String LARGE_FILE_SIZE = "largeFileSize";
+
+	/**
+	 * Private constructor.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	private PreferenceConstants() {
+		// prevent instantiation
+	}
+
+}
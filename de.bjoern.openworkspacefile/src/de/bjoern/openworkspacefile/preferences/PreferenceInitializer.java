@@ -0,0 +1,25 @@
+package de.bjoern.openworkspacefile.preferences;
+
+import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import de.bjoern.openworkspacefile.Activator;
+
+/**
+ * Initializes the default values of the plug-in preferences.
+ *
+ * @author funhoff
+ */
+public class PreferenceInitializer extends AbstractPreferenceInitializer {
+
+	@Override
+	public void initializeDefaultPreferences() {
+		IPreferenceStore store = Activator.getDefault().getPreferenceStore();
+		store.setDefault(PreferenceConstants.MAP_OFFSET_BY_DIFF, true);
+		store.setDefault(PreferenceConstants.MAX_BATCH_OPEN_FILES, 25);
+		store.setDefault(PreferenceConstants.ASK_IF_AMBIGUOUS, true);
+		store.setDefault(PreferenceConstants.NESTED_PROJECTS, PreferenceConstants.NESTED_PROJECTS_INNERMOST);
+		store.setDefault(PreferenceConstants.LARGE_FILE_SIZE, 4096);
+	}
+
+}
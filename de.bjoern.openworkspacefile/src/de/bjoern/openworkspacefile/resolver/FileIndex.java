@@ -0,0 +1,59 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.IPath;
+
+import de.bjoern.openworkspacefile.util.ReversePathTrie;
+
+/**
+ * Index of workspace files by path suffix, used by the {@link IndexStrategy}.
+ *
+ * @author funhoff
+ * @see de.bjoern.openworkspacefile.util.WorkspaceFileIndex
+ */
+public interface FileIndex {
+
+	/**
+	 * Returns <code>true</code> if the index contains all workspace files.
+	 *
+	 * @return <code>true</code> if the index can be used.
+	 */
+	boolean isBuilt();
+
+	/**
+	 * Starts building the index in the background, if it is not built yet.
+	 * Returns immediately.
+	 */
+	void scheduleBuild();
+
+	/**
+	 * Returns the file with the longest path suffix in common with the given
+	 * repository path.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @return The best match, or <code>null</code> if no file has the same
+	 *         name.
+	 */
+	ReversePathTrie.Match lookup(String repositoryPath);
+
+	/**
+	 * Returns the full paths of all files with the given name.
+	 *
+	 * @param fileName
+	 *            The file name.
+	 * @return The paths, never <code>null</code>.
+	 */
+	List<IPath> getPaths(String fileName);
+
+	/**
+	 * Returns the full paths of all files with the given name, ignoring case.
+	 *
+	 * @param fileName
+	 *            The file name.
+	 * @return The paths, never <code>null</code>.
+	 */
+	List<IPath> getPathsIgnoreCase(String fileName);
+
+}
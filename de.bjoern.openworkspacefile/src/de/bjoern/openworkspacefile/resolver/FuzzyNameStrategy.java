@@ -0,0 +1,94 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import de.bjoern.openworkspacefile.util.ParallelFileSearch;
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.ReversePathTrie;
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Last resort if the previous strategies found nothing: looks for files whose
+ * names and parent folders match the repository path ignoring case, e.g. after
+ * a file has been renamed on a case insensitive file system. The files of the
+ * name are taken from the {@link FileIndex}; only while the index is not built
+ * the open projects are searched.
+ *
+ * @author funhoff
+ */
+public class FuzzyNameStrategy implements ResolutionStrategy {
+
+	/**
+	 * The name of the strategy.
+	 */
+	public static final String NAME = "fuzzy";
+
+	/**
+	 * The index.
+	 */
+	private final FileIndex index;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param index
+	 *            The index.
+	 * @since Creation date: 17.10.2026
+	 */
+	public FuzzyNameStrategy(FileIndex index) {
+		Validate.notNull(index);
+		this.index = index;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		if (!candidates.isEmpty()) {
+			return;
+		}
+		if (index.isBuilt()) {
+			resolveByIndex(repositoryPath, view, candidates);
+			return;
+		}
+		ReversePathTrie.Match match = ParallelFileSearch.search(view, repositoryPath, true, monitor);
+		if (match != null) {
+			candidates.add(new ResolutionCandidate(match.getPath(), match.getDepth(), NAME));
+		}
+	}
+
+	/**
+	 * Adds the existing file of the index with the longest path suffix in
+	 * common with the given repository path, ignoring case.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param view
+	 *            The view of the workspace.
+	 * @param candidates
+	 *            The candidates to add to.
+	 */
+	private void resolveByIndex(String repositoryPath, WorkspaceView view, List<ResolutionCandidate> candidates) {
+		String[] segments = RepositoryPaths.getSegments(repositoryPath);
+		if (segments.length == 0) {
+			return;
+		}
+		PathSuffixScorer scorer = new PathSuffixScorer(repositoryPath, true);
+		for (IPath path : index.getPathsIgnoreCase(segments[segments.length - 1])) {
+			if (view.exists(path) && scorer.offer(path)) {
+				break;
+			}
+		}
+		if (scorer.getBestPath() != null) {
+			candidates.add(new ResolutionCandidate(scorer.getBestPath(), scorer.getBestDepth(), NAME));
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import de.bjoern.openworkspacefile.util.ParallelFileSearch;
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.ResolutionTelemetry;
+import de.bjoern.openworkspacefile.util.ReversePathTrie;
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Looks up the file with the longest path suffix in common with the repository
+ * path in a {@link FileIndex}, together with the next best files of the same
+ * name. While the index is not built, it is built in the background and the
+ * open projects are searched in parallel for the best file instead.
+ *
+ * @author funhoff
+ */
+public class IndexStrategy implements ResolutionStrategy {
+
+	/**
+	 * The name of the strategy.
+	 */
+	public static final String NAME = "index";
+
+	/**
+	 * The index.
+	 */
+	private final FileIndex index;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param index
+	 *            The index.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IndexStrategy(FileIndex index) {
+		Validate.notNull(index);
+		this.index = index;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		ReversePathTrie.Match match;
+		if (index.isBuilt()) {
+			match = index.lookup(repositoryPath);
+		}
+		else {
+			index.scheduleBuild();
+			match = ParallelFileSearch.search(view, repositoryPath, monitor);
+		}
+		if (match == null) {
+			return;
+		}
+		candidates.add(new ResolutionCandidate(match.getPath(), match.getDepth(), NAME));
+		if (index.isBuilt()) {
+			addAlternatives(repositoryPath, match.getPath(), view, candidates);
+		}
+	}
+
+	/**
+	 * Adds the best other existing files with the same name as the best match.
+	 * Candidate objects are only created for files ranking among the best.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param bestPath
+	 *            The full path of the best match.
+	 * @param view
+	 *            The view of the workspace.
+	 * @param candidates
+	 *            The candidates to add to.
+	 */
+	private void addAlternatives(String repositoryPath, IPath bestPath, WorkspaceView view, List<ResolutionCandidate> candidates) {
+		int maxAlternatives = WorkspaceFileResolver.MAX_CANDIDATES - 1;
+		List<ResolutionCandidate> alternatives = new ArrayList<ResolutionCandidate>(maxAlternatives + 1);
+		List<IPath> paths = index.getPaths(bestPath.lastSegment());
+		ResolutionTelemetry.recordCount("candidates scored", paths.size());
+		for (IPath path : paths) {
+			if (path.equals(bestPath)) {
+				continue;
+			}
+			int depth = PathSuffixScorer.countMatchingSegments(repositoryPath, path);
+			if (alternatives.size() == maxAlternatives && !isBetter(path, depth, alternatives.get(maxAlternatives - 1))) {
+				continue;
+			}
+			ResolutionCandidate alternative = new ResolutionCandidate(path, depth, NAME);
+			int position = alternatives.size();
+			while (position > 0 && alternative.compareTo(alternatives.get(position - 1)) < 0) {
+				position--;
+			}
+			alternatives.add(position, alternative);
+			if (alternatives.size() > maxAlternatives) {
+				alternatives.remove(maxAlternatives);
+			}
+		}
+		for (ResolutionCandidate alternative : alternatives) {
+			if (view.exists(alternative.getPath())) {
+				candidates.add(alternative);
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if a file with the given path and depth ranks
+	 * above the given candidate.
+	 *
+	 * @param path
+	 *            The full path of the file.
+	 * @param depth
+	 *            The match depth of the file.
+	 * @param candidate
+	 *            The candidate to compare with.
+	 * @return <code>true</code> if the file is better.
+	 */
+	private static boolean isBetter(IPath path, int depth, ResolutionCandidate candidate) {
+		boolean complete = depth == path.segmentCount();
+		if (complete != candidate.isComplete()) {
+			return complete;
+		}
+		if (depth != candidate.getDepth()) {
+			return depth > candidate.getDepth();
+		}
+		return PathSuffixScorer.compare(path, candidate.getPath()) < 0;
+	}
+
+}
@@ -0,0 +1,56 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Resolves repository paths below a known project root, see
+ * {@link ProjectRoots}, by a single existence check. Its candidates rank
+ * above all others but remembered choices of the user.
+ *
+ * @author funhoff
+ */
+public class ProjectRootStrategy implements ResolutionStrategy {
+
+	/**
+	 * The name of the strategy.
+	 */
+	public static final String NAME = "project root";
+
+	/**
+	 * The known project roots.
+	 */
+	private final ProjectRoots roots;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param roots
+	 *            The known project roots.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ProjectRootStrategy(ProjectRoots roots) {
+		Validate.notNull(roots);
+		this.roots = roots;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		IPath path = roots.apply(repositoryPath, repositoryRoot);
+		if (path != null && view.exists(path)) {
+			candidates.add(new ResolutionCandidate(path, PathSuffixScorer.countMatchingSegments(repositoryPath, path), NAME, true));
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+
+/**
+ * Repository paths of the project roots, e.g.
+ * <code>https://host/repos/trunk/module</code> for the project
+ * <code>/module-project</code>. Derived from the team provider metadata of the
+ * shared projects and learned from resolved files, so most repository paths
+ * resolve by stripping the longest known root and looking at a single path.
+ * The repository relative roots of Git projects are qualified by the Git
+ * directory of their repository. Thread safe.
+ *
+ * @author funhoff
+ */
+public class ProjectRoots {
+
+	/**
+	 * Maximum number of project roots. The least recently used ones are
+	 * forgotten first.
+	 */
+	private static final int MAX_SIZE = 500;
+
+	/**
+	 * Project names by normalized repository root, qualified by the Git
+	 * directory if known, in access order.
+	 */
+	private final Map<String, String> projectNames = new LinkedHashMap<String, String>(64, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Puts the repository root of the given project.
+	 *
+	 * @param rootPath
+	 *            The path or URI of the project root in the repository.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository if the path is relative
+	 *            to it, otherwise <code>null</code>.
+	 * @param projectName
+	 *            The name of the project.
+	 * @return <code>true</code> if the root is new or mapped to another
+	 *         project before.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean put(String rootPath, String repositoryRoot, String projectName) {
+		Validate.notNull(rootPath);
+		Validate.notEmpty(projectName);
+		String[] segments = RepositoryPaths.getSegments(rootPath);
+		if (segments.length == 0) {
+			return false;
+		}
+		String key = createKey(RepositoryPaths.join(segments, segments.length), repositoryRoot);
+		synchronized (this) {
+			return !projectName.equals(projectNames.put(key, projectName));
+		}
+	}
+
+	/**
+	 * Learns the repository root of the project of the given file resolved
+	 * for the given repository path. Only files whose project relative path
+	 * is a suffix of the repository path reveal the root.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository if the path is relative
+	 *            to it, otherwise <code>null</code>.
+	 * @param filePath
+	 *            The full path of the resolved file.
+	 * @return <code>true</code> if a new root has been learned.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean learn(String repositoryPath, String repositoryRoot, IPath filePath) {
+		Validate.notEmpty(repositoryPath);
+		Validate.notNull(filePath);
+		int relativeSegmentCount = filePath.segmentCount() - 1;
+		if (relativeSegmentCount < 1 || PathSuffixScorer.countMatchingSegments(repositoryPath, filePath) < relativeSegmentCount) {
+			return false;
+		}
+		String[] segments = RepositoryPaths.getSegments(repositoryPath);
+		if (segments.length <= relativeSegmentCount) {
+			return false;
+		}
+		return put(RepositoryPaths.join(segments, segments.length - relativeSegmentCount), repositoryRoot, filePath.segment(0));
+	}
+
+	/**
+	 * Returns the full path the given repository path has below the project of
+	 * the longest matching root.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository if the path is relative
+	 *            to it, otherwise <code>null</code>.
+	 * @return The full path of the file, or <code>null</code> if no root
+	 *         matches. The file might not exist.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IPath apply(String repositoryPath, String repositoryRoot) {
+		String[] segments = RepositoryPaths.getSegments(repositoryPath);
+		synchronized (this) {
+			if (projectNames.isEmpty()) {
+				return null;
+			}
+			for (int rootLength = segments.length - 1; rootLength > 0; rootLength--) {
+				String projectName = projectNames.get(createKey(RepositoryPaths.join(segments, rootLength), repositoryRoot));
+				if (projectName != null) {
+					IPath path = Path.ROOT.append(projectName);
+					for (int i = rootLength; i < segments.length; i++) {
+						path = path.append(segments[i]);
+					}
+					return path;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns all project roots, e.g. to store them.
+	 *
+	 * @return Project names by repository root, prefixed by the Git directory
+	 *         and <code>|</code> if known.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized Map<String, String> toMap() {
+		return new LinkedHashMap<String, String>(projectNames);
+	}
+
+	/**
+	 * Adds the given project roots.
+	 *
+	 * @param map
+	 *            Project names by repository root, as returned by
+	 *            {@link #toMap()}.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized void load(Map<String, String> map) {
+		projectNames.putAll(map);
+	}
+
+	/**
+	 * Returns the key of the given normalized root.
+	 *
+	 * @param rootPath
+	 *            The normalized path or URI of the root.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository. Can be
+	 *            <code>null</code>.
+	 * @return The key qualified by the Git directory, if given.
+	 */
+	private static String createKey(String rootPath, String repositoryRoot) {
+		return repositoryRoot != null ? repositoryRoot + "|" + rootPath : rootPath;
+	}
+
+}
@@ -0,0 +1,55 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Resolves repository paths below a prefix the user already chose a file for,
+ * see {@link RememberedChoices}. Its candidates rank above all others.
+ *
+ * @author funhoff
+ */
+public class RememberedChoiceStrategy implements ResolutionStrategy {
+
+	/**
+	 * The name of the strategy.
+	 */
+	public static final String NAME = "remembered choice";
+
+	/**
+	 * The remembered choices.
+	 */
+	private final RememberedChoices choices;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param choices
+	 *            The remembered choices.
+	 * @since Creation date: 17.10.2026
+	 */
+	public RememberedChoiceStrategy(RememberedChoices choices) {
+		Validate.notNull(choices);
+		this.choices = choices;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		IPath path = choices.apply(repositoryPath, repositoryRoot);
+		if (path != null && view.exists(path)) {
+			candidates.add(new ResolutionCandidate(path, PathSuffixScorer.countMatchingSegments(repositoryPath, path), NAME, true));
+		}
+	}
+
+}
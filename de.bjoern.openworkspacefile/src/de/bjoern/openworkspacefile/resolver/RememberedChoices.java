@@ -0,0 +1,152 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+
+/**
+ * Choices of the user among ambiguous candidates, remembered by repository
+ * path prefix. Choosing <code>/projectB/src/a/A.java</code> for
+ * <code>https://host/repos/trunk/b/src/a/A.java</code> maps the prefix
+ * <code>https://host/repos/trunk/b</code> to <code>/projectB</code>, so later
+ * paths below that prefix are resolved below <code>/projectB</code>. The
+ * longest matching prefix wins. The repository relative prefixes of Git paths
+ * are qualified by the Git directory of their repository. Thread safe.
+ *
+ * @author funhoff
+ */
+public class RememberedChoices {
+
+	/**
+	 * Maximum number of remembered prefixes. The least recently used ones are
+	 * forgotten first.
+	 */
+	private static final int MAX_SIZE = 200;
+
+	/**
+	 * Workspace path prefixes by normalized repository path prefix, qualified
+	 * by the Git directory if known, in access order.
+	 */
+	private final Map<String, IPath> prefixes = new LinkedHashMap<String, IPath>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IPath> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Remembers that the given file has been chosen for the given repository
+	 * path. Does nothing if not even the file names match or if there is no
+	 * prefix left.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository if the path is relative
+	 *            to it, otherwise <code>null</code>.
+	 * @param chosenPath
+	 *            The full path of the chosen file.
+	 * @return <code>true</code> if the choice has been remembered.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean remember(String repositoryPath, String repositoryRoot, IPath chosenPath) {
+		Validate.notEmpty(repositoryPath);
+		Validate.notNull(chosenPath);
+		int depth = PathSuffixScorer.countMatchingSegments(repositoryPath, chosenPath);
+		String[] segments = RepositoryPaths.getSegments(repositoryPath);
+		if (depth == 0 || depth >= segments.length) {
+			return false;
+		}
+		String repositoryPrefix = createKey(RepositoryPaths.join(segments, segments.length - depth), repositoryRoot);
+		synchronized (this) {
+			prefixes.put(repositoryPrefix, chosenPath.removeLastSegments(depth));
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the workspace path the given repository path maps to by the
+	 * longest remembered prefix.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository if the path is relative
+	 *            to it, otherwise <code>null</code>.
+	 * @return The full path of the file to use, or <code>null</code> if no
+	 *         remembered prefix matches. The file might not exist.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IPath apply(String repositoryPath, String repositoryRoot) {
+		String[] segments = RepositoryPaths.getSegments(repositoryPath);
+		synchronized (this) {
+			if (prefixes.isEmpty()) {
+				return null;
+			}
+			for (int prefixLength = segments.length - 1; prefixLength > 0; prefixLength--) {
+				IPath workspacePrefix = prefixes.get(createKey(RepositoryPaths.join(segments, prefixLength), repositoryRoot));
+				if (workspacePrefix != null) {
+					IPath path = workspacePrefix;
+					for (int i = prefixLength; i < segments.length; i++) {
+						path = path.append(segments[i]);
+					}
+					return path;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns all remembered prefixes, e.g. to store them.
+	 *
+	 * @return Portable workspace path prefixes by repository path prefix,
+	 *         prefixed by the Git directory and <code>|</code> if known.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized Map<String, String> toMap() {
+		Map<String, String> map = new LinkedHashMap<String, String>();
+		for (Map.Entry<String, IPath> entry : prefixes.entrySet()) {
+			map.put(entry.getKey(), entry.getValue().toPortableString());
+		}
+		return map;
+	}
+
+	/**
+	 * Replaces all remembered prefixes by the given ones.
+	 *
+	 * @param map
+	 *            Portable workspace path prefixes by repository path prefix,
+	 *            as returned by {@link #toMap()}.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized void load(Map<String, String> map) {
+		prefixes.clear();
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			prefixes.put(entry.getKey(), Path.fromPortableString(entry.getValue()));
+		}
+	}
+
+	/**
+	 * Returns the key of the given normalized prefix.
+	 *
+	 * @param repositoryPrefix
+	 *            The normalized repository path prefix.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository. Can be
+	 *            <code>null</code>.
+	 * @return The key qualified by the Git directory, if given.
+	 */
+	private static String createKey(String repositoryPrefix, String repositoryRoot) {
+		return repositoryRoot != null ? repositoryRoot + "|" + repositoryPrefix : repositoryPrefix;
+	}
+
+}
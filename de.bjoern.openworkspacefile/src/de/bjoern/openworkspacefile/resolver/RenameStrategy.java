@@ -0,0 +1,81 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Resolves repository paths of renamed or moved files by their current path,
+ * see {@link RenamedPaths}, in the repository of the path. The current path is
+ * resolved by the given fast strategies, so a renamed file resolves about as
+ * fast as an unchanged one. Candidates of the current path which are complete
+ * or remembered rank like a remembered choice.
+ *
+ * @author funhoff
+ */
+public class RenameStrategy implements ResolutionStrategy {
+
+	/**
+	 * The name of the strategy.
+	 */
+	public static final String NAME = "renamed path";
+
+	/**
+	 * The known renames.
+	 */
+	private final RenamedPaths renames;
+
+	/**
+	 * The strategies resolving the current path.
+	 */
+	private final List<ResolutionStrategy> strategies;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param renames
+	 *            The known renames.
+	 * @param strategies
+	 *            The strategies resolving the current path, in the order to
+	 *            ask them.
+	 * @since Creation date: 17.10.2026
+	 */
+	public RenameStrategy(RenamedPaths renames, ResolutionStrategy... strategies) {
+		Validate.notNull(renames);
+		Validate.notEmpty(strategies);
+		this.renames = renames;
+		this.strategies = Collections.unmodifiableList(Arrays.asList(strategies.clone()));
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		String newPath = renames.apply(repositoryRoot, repositoryPath);
+		if (newPath == null) {
+			return;
+		}
+		SubMonitor progress = SubMonitor.convert(monitor, strategies.size());
+		List<ResolutionCandidate> found = new ArrayList<ResolutionCandidate>();
+		for (ResolutionStrategy strategy : strategies) {
+			strategy.resolve(newPath, repositoryRoot, view, found, progress.newChild(1));
+			if (!found.isEmpty()) {
+				break;
+			}
+		}
+		for (ResolutionCandidate candidate : found) {
+			candidates.add(new ResolutionCandidate(candidate.getPath(), candidate.getDepth(), NAME, candidate.isComplete() || candidate.isRemembered()));
+		}
+	}
+
+}
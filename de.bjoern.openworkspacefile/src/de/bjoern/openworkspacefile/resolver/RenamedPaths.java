@@ -0,0 +1,193 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Current repository paths of renamed or moved files by their former paths,
+ * per Git repository, e.g. derived from the history of the repositories. The
+ * paths are relative to the repository, so a rename only applies to the paths
+ * of its own repository. Renames are put in the order they happened, so a
+ * file renamed several times resolves along the chain to its last path, and a
+ * file renamed back to a former path ends there. Thread safe.
+ *
+ * @author funhoff
+ */
+public class RenamedPaths {
+
+	/**
+	 * Maximum number of renames per repository. The least recently used ones
+	 * are forgotten first.
+	 */
+	private static final int MAX_SIZE = 10000;
+
+	/**
+	 * Maximum number of renames followed for one path.
+	 */
+	private static final int MAX_CHAIN_LENGTH = 32;
+
+	/**
+	 * Separator of the repository and the former path in the keys of
+	 * {@link #toMap()}.
+	 */
+	private static final char KEY_SEPARATOR = '|';
+
+	/**
+	 * New paths by normalized former path, in access order, by Git directory
+	 * of the repository.
+	 */
+	private final Map<String, Map<String, String>> newPaths = new HashMap<String, Map<String, String>>();
+
+	/**
+	 * Puts the rename of a file. A rename of the new path put before is
+	 * forgotten, as the file is found at the new path again.
+	 *
+	 * @param repositoryRoot
+	 *            The Git directory of the repository.
+	 * @param oldPath
+	 *            The former repository path.
+	 * @param newPath
+	 *            The new repository path.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void put(String repositoryRoot, String oldPath, String newPath) {
+		Validate.notEmpty(repositoryRoot);
+		Validate.notEmpty(oldPath);
+		Validate.notEmpty(newPath);
+		String oldKey = normalize(oldPath);
+		String newKey = normalize(newPath);
+		if (oldKey.equals(newKey)) {
+			return;
+		}
+		synchronized (this) {
+			Map<String, String> repositoryPaths = getRepositoryPaths(repositoryRoot);
+			repositoryPaths.remove(newKey);
+			repositoryPaths.put(oldKey, newKey);
+		}
+	}
+
+	/**
+	 * Returns the current path of the file with the given former path.
+	 *
+	 * @param repositoryRoot
+	 *            The Git directory of the repository of the path. Can be
+	 *            <code>null</code>.
+	 * @param repositoryPath
+	 *            The repository path of the file.
+	 * @return The last known path of the file, or <code>null</code> if it has
+	 *         not been renamed in the repository or the repository is unknown.
+	 * @since Creation date: 17.10.2026
+	 */
+	public String apply(String repositoryRoot, String repositoryPath) {
+		if (repositoryRoot == null) {
+			return null;
+		}
+		String path = normalize(repositoryPath);
+		synchronized (this) {
+			Map<String, String> repositoryPaths = newPaths.get(repositoryRoot);
+			String newPath = repositoryPaths != null ? repositoryPaths.get(path) : null;
+			if (newPath == null) {
+				return null;
+			}
+			for (int i = 1; i < MAX_CHAIN_LENGTH; i++) {
+				String nextPath = repositoryPaths.get(newPath);
+				if (nextPath == null) {
+					break;
+				}
+				newPath = nextPath;
+			}
+			return newPath;
+		}
+	}
+
+	/**
+	 * Returns the number of known renames of all repositories.
+	 *
+	 * @return The size.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized int size() {
+		int size = 0;
+		for (Map<String, String> repositoryPaths : newPaths.values()) {
+			size += repositoryPaths.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns all known renames, e.g. to store them.
+	 *
+	 * @return New paths by Git directory and former path, separated by
+	 *         <code>|</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized Map<String, String> toMap() {
+		Map<String, String> map = new LinkedHashMap<String, String>();
+		for (Map.Entry<String, Map<String, String>> repositoryEntry : newPaths.entrySet()) {
+			for (Map.Entry<String, String> entry : repositoryEntry.getValue().entrySet()) {
+				map.put(repositoryEntry.getKey() + KEY_SEPARATOR + entry.getKey(), entry.getValue());
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Replaces all known renames by the given ones. Renames stored without a
+	 * repository are dropped, as they can't be told apart.
+	 *
+	 * @param map
+	 *            New paths by Git directory and former path, as returned by
+	 *            {@link #toMap()}.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized void load(Map<String, String> map) {
+		newPaths.clear();
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			int separator = entry.getKey().indexOf(KEY_SEPARATOR);
+			if (separator > 0) {
+				getRepositoryPaths(entry.getKey().substring(0, separator)).put(entry.getKey().substring(separator + 1), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Returns the renames of the given repository, creating them if needed.
+	 * Must be called while holding the lock of this object.
+	 *
+	 * @param repositoryRoot
+	 *            The Git directory of the repository.
+	 * @return New paths by normalized former path, in access order.
+	 */
+	private Map<String, String> getRepositoryPaths(String repositoryRoot) {
+		Map<String, String> repositoryPaths = newPaths.get(repositoryRoot);
+		if (repositoryPaths == null) {
+			repositoryPaths = new LinkedHashMap<String, String>(256, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+					return size() > MAX_SIZE;
+				}
+			};
+			newPaths.put(repositoryRoot, repositoryPaths);
+		}
+		return repositoryPaths;
+	}
+
+	/**
+	 * Returns the normalized form of the given repository path.
+	 *
+	 * @param repositoryPath
+	 *            The repository path.
+	 * @return The path without empty segments.
+	 */
+	private static String normalize(String repositoryPath) {
+		String[] segments = RepositoryPaths.getSegments(repositoryPath);
+		return RepositoryPaths.join(segments, segments.length);
+	}
+
+}
@@ -0,0 +1,19 @@
+package de.bjoern.openworkspacefile.resolver;
+
+/**
+ * Source of the current {@link RepositoryMappings}, used by the
+ * {@link RepositoryMappingStrategy}.
+ *
+ * @author funhoff
+ * @see de.bjoern.openworkspacefile.util.GitRepositoryMappingTracker
+ */
+public interface RepositoryMappingSource {
+
+	/**
+	 * Returns the mappings of the currently shared projects.
+	 *
+	 * @return The mappings, never <code>null</code>.
+	 */
+	RepositoryMappings getMappings();
+
+}
@@ -0,0 +1,71 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Resolves Git paths, which are relative to the work tree of their
+ * repository, by the {@link RepositoryMappings} of the shared projects. A
+ * file existing in a single repository ranks like a remembered choice. Paths
+ * with a scheme or device, e.g. SVN URLs, are left to the other strategies.
+ *
+ * @author funhoff
+ */
+public class RepositoryMappingStrategy implements ResolutionStrategy {
+
+	/**
+	 * The name of the strategy.
+	 */
+	public static final String NAME = "repository mapping";
+
+	/**
+	 * The source of the mappings.
+	 */
+	private final RepositoryMappingSource source;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param source
+	 *            The source of the mappings.
+	 * @since Creation date: 17.10.2026
+	 */
+	public RepositoryMappingStrategy(RepositoryMappingSource source) {
+		Validate.notNull(source);
+		this.source = source;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		if (repositoryPath.indexOf(':') >= 0) {
+			return;
+		}
+		RepositoryMappings mappings = source.getMappings();
+		if (mappings.isEmpty()) {
+			return;
+		}
+		List<IPath> existing = new ArrayList<IPath>(1);
+		for (IPath path : mappings.apply(repositoryPath)) {
+			if (view.exists(path)) {
+				existing.add(path);
+			}
+		}
+		boolean unique = existing.size() == 1;
+		for (IPath path : existing) {
+			candidates.add(new ResolutionCandidate(path, PathSuffixScorer.countMatchingSegments(repositoryPath, path), NAME, unique));
+		}
+	}
+
+}
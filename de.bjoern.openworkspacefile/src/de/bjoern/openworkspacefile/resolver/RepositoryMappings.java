@@ -0,0 +1,114 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Projects shared with Git by their path relative to the work tree of their
+ * repository, e.g. <code>/module-project</code> for <code>module</code> and
+ * <code>/root-project</code> for the work tree itself. A repository relative
+ * path resolves by joining the rest of the path to the project mapped to its
+ * prefix. Only the prefix lengths of mapped projects are looked up, usually a
+ * single one. Immutable.
+ *
+ * @author funhoff
+ */
+public class RepositoryMappings {
+
+	/**
+	 * Mappings without any project.
+	 */
+	public static final RepositoryMappings EMPTY = new RepositoryMappings(Collections.<IPath, String> emptyMap());
+
+	/**
+	 * Full paths of the projects by normalized repository relative path.
+	 * Projects of several repositories may share a path.
+	 */
+	private final Map<String, List<IPath>> projects = new HashMap<String, List<IPath>>();
+
+	/**
+	 * The distinct segment counts of the mapped paths, longest first.
+	 */
+	private final int[] prefixLengths;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param relativePaths
+	 *            The repository relative paths by full path of the project.
+	 *            An empty path maps the project to the work tree itself.
+	 * @since Creation date: 17.10.2026
+	 */
+	public RepositoryMappings(Map<IPath, String> relativePaths) {
+		Validate.notNull(relativePaths);
+		TreeSet<Integer> lengths = new TreeSet<Integer>(Collections.reverseOrder());
+		for (Map.Entry<IPath, String> entry : relativePaths.entrySet()) {
+			String[] segments = RepositoryPaths.getSegments(entry.getValue());
+			String key = RepositoryPaths.join(segments, segments.length);
+			List<IPath> paths = projects.get(key);
+			if (paths == null) {
+				paths = new ArrayList<IPath>(1);
+				projects.put(key, paths);
+			}
+			paths.add(entry.getKey());
+			lengths.add(Integer.valueOf(segments.length));
+		}
+		prefixLengths = new int[lengths.size()];
+		int i = 0;
+		for (Integer length : lengths) {
+			prefixLengths[i++] = length.intValue();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if no project is mapped.
+	 *
+	 * @return <code>true</code> if empty.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean isEmpty() {
+		return projects.isEmpty();
+	}
+
+	/**
+	 * Returns the full paths the given repository relative path maps to by
+	 * the longest mapped prefix, one for each repository sharing it.
+	 *
+	 * @param relativePath
+	 *            The path relative to the work tree of the repository.
+	 * @return The full paths of the files, empty if no prefix is mapped. The
+	 *         files might not exist.
+	 * @since Creation date: 17.10.2026
+	 */
+	public List<IPath> apply(String relativePath) {
+		String[] segments = RepositoryPaths.getSegments(relativePath);
+		for (int prefixLength : prefixLengths) {
+			if (prefixLength >= segments.length) {
+				continue;
+			}
+			List<IPath> projectPaths = projects.get(RepositoryPaths.join(segments, prefixLength));
+			if (projectPaths != null) {
+				List<IPath> paths = new ArrayList<IPath>(projectPaths.size());
+				String[] rest = Arrays.copyOfRange(segments, prefixLength, segments.length);
+				for (IPath projectPath : projectPaths) {
+					IPath path = projectPath;
+					for (String segment : rest) {
+						path = path.append(segment);
+					}
+					paths.add(path);
+				}
+				return paths;
+			}
+		}
+		return Collections.emptyList();
+	}
+
+}
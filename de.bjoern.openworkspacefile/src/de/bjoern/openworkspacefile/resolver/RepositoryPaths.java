@@ -0,0 +1,61 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+
+/**
+ * Splits and joins repository paths, ignoring empty segments, so
+ * <code>https://host/a</code> and <code>https:/host/a/</code> share the same
+ * prefixes.
+ *
+ * @author funhoff
+ */
+final class RepositoryPaths {
+
+	/**
+	 * Private constructor.
+	 */
+	private RepositoryPaths() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Returns the non empty segments of the given repository path.
+	 *
+	 * @param repositoryPath
+	 *            The repository path.
+	 * @return The segments.
+	 */
+	static String[] getSegments(String repositoryPath) {
+		List<String> segments = new ArrayList<String>();
+		for (String segment : repositoryPath.split(PathSuffixScorer.PATH_SEPARATOR)) {
+			if (segment.length() > 0) {
+				segments.add(segment);
+			}
+		}
+		return segments.toArray(new String[segments.size()]);
+	}
+
+	/**
+	 * Joins the first segments.
+	 *
+	 * @param segments
+	 *            The segments.
+	 * @param count
+	 *            The number of segments to join.
+	 * @return The joined segments.
+	 */
+	static String join(String[] segments, int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				builder.append(PathSuffixScorer.PATH_SEPARATOR);
+			}
+			builder.append(segments[i]);
+		}
+		return builder.toString();
+	}
+
+}
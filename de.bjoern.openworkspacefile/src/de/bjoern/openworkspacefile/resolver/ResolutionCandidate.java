@@ -0,0 +1,165 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+
+/**
+ * A workspace file found for a repository path. Candidates are ordered by
+ * rank: files following a remembered repository prefix first, then complete
+ * matches, then the deepest match, then the shortest path, then the lexical
+ * order of the segments. The match depth is the score of the candidate.
+ *
+ * @author funhoff
+ */
+public class ResolutionCandidate implements Comparable<ResolutionCandidate> {
+
+	/**
+	 * The full path of the file.
+	 */
+	private final IPath path;
+
+	/**
+	 * The number of trailing segments in common with the repository path.
+	 */
+	private final int depth;
+
+	/**
+	 * The name of the strategy which found the file.
+	 */
+	private final String strategyName;
+
+	/**
+	 * <code>true</code> if the file follows a remembered repository prefix,
+	 * i.e. a choice of the user or a known project root.
+	 */
+	private final boolean remembered;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param path
+	 *            The full path of the file.
+	 * @param depth
+	 *            The number of trailing segments in common with the
+	 *            repository path.
+	 * @param strategyName
+	 *            The name of the strategy which found the file.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ResolutionCandidate(IPath path, int depth, String strategyName) {
+		this(path, depth, strategyName, false);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param path
+	 *            The full path of the file.
+	 * @param depth
+	 *            The number of trailing segments in common with the
+	 *            repository path.
+	 * @param strategyName
+	 *            The name of the strategy which found the file.
+	 * @param remembered
+	 *            <code>true</code> if the file follows a remembered repository
+	 *            prefix, i.e. a choice of the user or a known project root.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ResolutionCandidate(IPath path, int depth, String strategyName, boolean remembered) {
+		Validate.notNull(path);
+		Validate.notEmpty(strategyName);
+		this.path = path;
+		this.depth = depth;
+		this.strategyName = strategyName;
+		this.remembered = remembered;
+	}
+
+	/**
+	 * Returns the full path of the file.
+	 *
+	 * @return The path.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IPath getPath() {
+		return path;
+	}
+
+	/**
+	 * Returns the number of trailing segments in common with the repository
+	 * path.
+	 *
+	 * @return The match depth.
+	 * @since Creation date: 17.10.2026
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns <code>true</code> if all segments of the file path are a suffix
+	 * of the repository path.
+	 *
+	 * @return <code>true</code> if the whole path matched.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean isComplete() {
+		return depth == path.segmentCount();
+	}
+
+	/**
+	 * Returns the name of the strategy which found the file.
+	 *
+	 * @return The strategy name.
+	 * @since Creation date: 17.10.2026
+	 */
+	public String getStrategyName() {
+		return strategyName;
+	}
+
+	/**
+	 * Returns <code>true</code> if the file follows a remembered repository
+	 * prefix, i.e. a choice of the user or a known project root.
+	 *
+	 * @return <code>true</code> if remembered.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean isRemembered() {
+		return remembered;
+	}
+
+	/**
+	 * Returns <code>true</code> if this candidate and the given one are equally
+	 * good, i.e. the user should choose between them.
+	 *
+	 * @param other
+	 *            The other candidate.
+	 * @return <code>true</code> if both have the same rank apart from the
+	 *         path.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean isTiedWith(ResolutionCandidate other) {
+		return remembered == other.remembered && isComplete() == other.isComplete() && depth == other.depth;
+	}
+
+	@Override
+	public int compareTo(ResolutionCandidate other) {
+		if (remembered != other.remembered) {
+			return remembered ? -1 : 1;
+		}
+		if (isComplete() != other.isComplete()) {
+			return isComplete() ? -1 : 1;
+		}
+		if (depth != other.depth) {
+			return depth > other.depth ? -1 : 1;
+		}
+		return PathSuffixScorer.compare(path, other.path);
+	}
+
+	@Override
+	public String toString() {
+		return path + " (" + strategyName + ", depth " + depth + ")";
+	}
+
+}
@@ -0,0 +1,133 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of resolving a repository path: the ranked candidates and the time
+ * spent in each strategy.
+ *
+ * @author funhoff
+ */
+public class ResolutionResult {
+
+	/**
+	 * The resolved repository path.
+	 */
+	private final String repositoryPath;
+
+	/**
+	 * The candidates, best first.
+	 */
+	private final List<ResolutionCandidate> candidates;
+
+	/**
+	 * Nanoseconds spent in each asked strategy, in the order asked.
+	 */
+	private final Map<String, Long> strategyNanos;
+
+	/**
+	 * Nanoseconds spent in total.
+	 */
+	private final long totalNanos;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param repositoryPath
+	 *            The resolved repository path.
+	 * @param candidates
+	 *            The candidates, best first.
+	 * @param strategyNanos
+	 *            Nanoseconds spent in each asked strategy.
+	 * @param totalNanos
+	 *            Nanoseconds spent in total.
+	 */
+	ResolutionResult(String repositoryPath, List<ResolutionCandidate> candidates, Map<String, Long> strategyNanos, long totalNanos) {
+		this.repositoryPath = repositoryPath;
+		this.candidates = Collections.unmodifiableList(candidates);
+		this.strategyNanos = Collections.unmodifiableMap(new LinkedHashMap<String, Long>(strategyNanos));
+		this.totalNanos = totalNanos;
+	}
+
+	/**
+	 * Returns the resolved repository path.
+	 *
+	 * @return The repository path.
+	 * @since Creation date: 17.10.2026
+	 */
+	public String getRepositoryPath() {
+		return repositoryPath;
+	}
+
+	/**
+	 * Returns the best candidate.
+	 *
+	 * @return The best candidate, or <code>null</code> if no file has been
+	 *         found.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ResolutionCandidate getBest() {
+		return candidates.isEmpty() ? null : candidates.get(0);
+	}
+
+	/**
+	 * Returns <code>true</code> if the best candidate is not better than the
+	 * second one, so the user should choose between them.
+	 *
+	 * @return <code>true</code> if the result is ambiguous.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean isAmbiguous() {
+		return candidates.size() > 1 && !candidates.get(0).isRemembered() && candidates.get(0).isTiedWith(candidates.get(1));
+	}
+
+	/**
+	 * Returns the best candidate and all candidates tied with it.
+	 *
+	 * @return The tied candidates, best first. Empty if no file has been
+	 *         found.
+	 * @since Creation date: 17.10.2026
+	 */
+	public List<ResolutionCandidate> getTiedCandidates() {
+		int count = 0;
+		while (count < candidates.size() && candidates.get(count).isTiedWith(candidates.get(0))) {
+			count++;
+		}
+		return candidates.subList(0, count);
+	}
+
+	/**
+	 * Returns all candidates, best first.
+	 *
+	 * @return The candidates. Empty if no file has been found.
+	 * @since Creation date: 17.10.2026
+	 */
+	public List<ResolutionCandidate> getCandidates() {
+		return candidates;
+	}
+
+	/**
+	 * Returns the nanoseconds spent in each asked strategy, in the order they
+	 * have been asked.
+	 *
+	 * @return Nanoseconds by strategy name.
+	 * @since Creation date: 17.10.2026
+	 */
+	public Map<String, Long> getStrategyNanos() {
+		return strategyNanos;
+	}
+
+	/**
+	 * Returns the nanoseconds spent in total.
+	 *
+	 * @return The total time.
+	 * @since Creation date: 17.10.2026
+	 */
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+}
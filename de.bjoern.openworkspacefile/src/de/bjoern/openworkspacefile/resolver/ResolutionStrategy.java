@@ -0,0 +1,46 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * A way to find the workspace file of a repository path. The strategies of a
+ * {@link WorkspaceFileResolver} are asked in order until one of them found a
+ * complete match.
+ *
+ * @author funhoff
+ */
+public interface ResolutionStrategy {
+
+	/**
+	 * Returns the name of the strategy, e.g. for timing reports.
+	 *
+	 * @return The name.
+	 */
+	String getName();
+
+	/**
+	 * Adds the files found for the given repository path to the candidates.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository of the path, which
+	 *            qualifies what is known about repository relative paths.
+	 *            <code>null</code> if unknown or not a Git path.
+	 * @param view
+	 *            The view of the workspace.
+	 * @param candidates
+	 *            The candidates found by the previous strategies. The
+	 *            strategy adds its candidates to this list.
+	 * @param monitor
+	 *            The progress monitor. Never <code>null</code>.
+	 * @throws org.eclipse.core.runtime.OperationCanceledException
+	 *             If the monitor has been canceled.
+	 */
+	void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor);
+
+}
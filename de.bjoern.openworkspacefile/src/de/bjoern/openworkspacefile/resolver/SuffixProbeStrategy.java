@@ -0,0 +1,61 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Probes the paths below open projects whose names occur in the repository
+ * path, e.g. <code>/myproject/src/A.java</code> for
+ * <code>https://host/repos/trunk/myproject/src/A.java</code>. Needs neither
+ * an index nor a visit of the workspace, so it is tried first. The leftmost
+ * occurrence of a project name wins, as it gives the deepest match.
+ *
+ * @author funhoff
+ */
+public class SuffixProbeStrategy implements ResolutionStrategy {
+
+	/**
+	 * The name of the strategy.
+	 */
+	public static final String NAME = "suffix probe";
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public void resolve(String repositoryPath, String repositoryRoot, WorkspaceView view, List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		List<String> segments = new ArrayList<String>();
+		for (String segment : repositoryPath.split(PathSuffixScorer.PATH_SEPARATOR)) {
+			if (segment.length() > 0) {
+				segments.add(segment);
+			}
+		}
+		Set<String> projectNames = new HashSet<String>(Arrays.asList(view.getOpenProjectNames()));
+		for (int i = 0; i < segments.size() - 1; i++) {
+			if (!projectNames.contains(segments.get(i))) {
+				continue;
+			}
+			IPath path = Path.ROOT;
+			for (String segment : segments.subList(i, segments.size())) {
+				path = path.append(segment);
+			}
+			if (view.exists(path)) {
+				candidates.add(new ResolutionCandidate(path, path.segmentCount(), NAME));
+				return;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+package de.bjoern.openworkspacefile.resolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import de.bjoern.openworkspacefile.util.PathSuffixScorer;
+import de.bjoern.openworkspacefile.util.WorkspaceView;
+
+/**
+ * Resolves repository paths to workspace files by asking a chain of
+ * {@link ResolutionStrategy}s in order, until one of them found a complete
+ * match or a remembered prefix. The result contains the best
+ * {@link #MAX_CANDIDATES} candidates. Depends on the workspace only by the
+ * {@link WorkspaceView}, so it runs headless as well. Thread safe if the
+ * strategies are.
+ *
+ * @author funhoff
+ */
+public class WorkspaceFileResolver {
+
+	/**
+	 * Maximum number of candidates of a result.
+	 */
+	public static final int MAX_CANDIDATES = 10;
+
+	/**
+	 * The view of the workspace.
+	 */
+	private final WorkspaceView view;
+
+	/**
+	 * The strategies, in the order to ask them.
+	 */
+	private final List<ResolutionStrategy> strategies;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param view
+	 *            The view of the workspace.
+	 * @param strategies
+	 *            The strategies, in the order to ask them.
+	 * @since Creation date: 17.10.2026
+	 */
+	public WorkspaceFileResolver(WorkspaceView view, ResolutionStrategy... strategies) {
+		Validate.notNull(view);
+		Validate.notEmpty(strategies);
+		this.view = view;
+		this.strategies = Collections.unmodifiableList(Arrays.asList(strategies.clone()));
+	}
+
+	/**
+	 * Returns the view of the workspace.
+	 *
+	 * @return The workspace view.
+	 * @since Creation date: 17.10.2026
+	 */
+	public WorkspaceView getView() {
+		return view;
+	}
+
+	/**
+	 * Resolves the given repository path of an unknown repository, see
+	 * {@link #resolve(String, String, IProgressMonitor)}.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The result with the ranked candidates.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ResolutionResult resolve(String repositoryPath, IProgressMonitor monitor) {
+		return resolve(repositoryPath, null, monitor);
+	}
+
+	/**
+	 * Resolves the given repository path. If the best candidate matches
+	 * completely and its location is shared by other files, the canonical path
+	 * of the view is preferred, e.g. the path in the innermost of nested
+	 * projects.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository of the path.
+	 *            <code>null</code> if unknown or not a Git path.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The result with the ranked candidates.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ResolutionResult resolve(String repositoryPath, String repositoryRoot, IProgressMonitor monitor) {
+		Validate.notEmpty(repositoryPath);
+		long start = System.nanoTime();
+		SubMonitor progress = SubMonitor.convert(monitor, strategies.size());
+		List<ResolutionCandidate> candidates = new ArrayList<ResolutionCandidate>();
+		Map<String, Long> strategyNanos = new LinkedHashMap<String, Long>();
+		for (ResolutionStrategy strategy : strategies) {
+			if (progress.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			long strategyStart = System.nanoTime();
+			strategy.resolve(repositoryPath, repositoryRoot, view, candidates, progress.newChild(1));
+			strategyNanos.put(strategy.getName(), System.nanoTime() - strategyStart);
+			if (containsDecisive(candidates)) {
+				break;
+			}
+		}
+		List<ResolutionCandidate> ranked = rank(candidates);
+		if (!ranked.isEmpty() && ranked.get(0).isComplete() && !ranked.get(0).isRemembered()) {
+			ranked.set(0, canonicalize(repositoryPath, ranked.get(0)));
+		}
+		return new ResolutionResult(repositoryPath, ranked, strategyNanos, System.nanoTime() - start);
+	}
+
+	/**
+	 * Returns <code>true</code> if one of the given candidates matches
+	 * completely or follows a remembered repository prefix.
+	 *
+	 * @param candidates
+	 *            The candidates.
+	 * @return <code>true</code> if no further strategy needs to be asked.
+	 */
+	private static boolean containsDecisive(List<ResolutionCandidate> candidates) {
+		for (ResolutionCandidate candidate : candidates) {
+			if (candidate.isComplete() || candidate.isRemembered()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sorts the given candidates by rank, removes all but the best candidate
+	 * of each path and keeps the best {@link #MAX_CANDIDATES}.
+	 *
+	 * @param candidates
+	 *            The candidates.
+	 * @return The ranked candidates, best first.
+	 */
+	private static List<ResolutionCandidate> rank(List<ResolutionCandidate> candidates) {
+		List<ResolutionCandidate> sorted = new ArrayList<ResolutionCandidate>(candidates);
+		Collections.sort(sorted);
+		Set<IPath> paths = new HashSet<IPath>();
+		List<ResolutionCandidate> ranked = new ArrayList<ResolutionCandidate>(sorted.size());
+		for (ResolutionCandidate candidate : sorted) {
+			if (ranked.size() == MAX_CANDIDATES) {
+				break;
+			}
+			if (paths.add(candidate.getPath())) {
+				ranked.add(candidate);
+			}
+		}
+		return ranked;
+	}
+
+	/**
+	 * Returns the candidate of the canonical path of the given candidate.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param candidate
+	 *            The best candidate.
+	 * @return The candidate to use instead, or the given one.
+	 */
+	private ResolutionCandidate canonicalize(String repositoryPath, ResolutionCandidate candidate) {
+		IPath selected = view.getCanonicalPath(candidate.getPath());
+		if (selected.equals(candidate.getPath())) {
+			return candidate;
+		}
+		return new ResolutionCandidate(selected, PathSuffixScorer.countMatchingSegments(repositoryPath, selected), candidate.getStrategyName(), candidate.isRemembered());
+	}
+
+}
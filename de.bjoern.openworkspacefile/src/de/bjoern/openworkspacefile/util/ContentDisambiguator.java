@@ -0,0 +1,333 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.compare.IEncodedStreamContentAccessor;
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.resolver.ResolutionCandidate;
+
+/**
+ * Chooses among equally good candidates by comparing their content with the
+ * compared revision, in the calling thread and the threads of the
+ * {@link ParallelFileSearch}. A single candidate with the same
+ * {@link ContentSketch#getBlobId() blob id} as the revision wins, otherwise
+ * the candidate with clearly the most similar lines. The sketches of the
+ * files are cached per modification stamp.
+ *
+ * @author funhoff
+ */
+public final class ContentDisambiguator {
+
+	/**
+	 * Minimum similarity of the winning candidate.
+	 */
+	private static final double MIN_SIMILARITY = 0.5;
+
+	/**
+	 * Minimum difference of the similarities of the winning and the second
+	 * candidate.
+	 */
+	private static final double MIN_MARGIN = 0.1;
+
+	/**
+	 * Files larger than this number of bytes are not compared.
+	 */
+	private static final long MAX_FILE_SIZE = 8 * 1024 * 1024;
+
+	/**
+	 * Timeout in milliseconds to wait for a task before checking the progress
+	 * monitor.
+	 */
+	private static final long POLL_TIMEOUT = 100;
+
+	/**
+	 * Maximum number of cached sketches.
+	 */
+	private static final int CACHE_SIZE = 64;
+
+	/**
+	 * Cached sketches by file and modification stamp or by revision id.
+	 */
+	private static final Map<String, ContentSketch> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, ContentSketch>(CACHE_SIZE, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ContentSketch> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	});
+
+	/**
+	 * Private constructor.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	private ContentDisambiguator() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Chooses the candidate whose content matches the given revision.
+	 *
+	 * @param candidates
+	 *            The equally good candidates.
+	 * @param revision
+	 *            The compared revision.
+	 * @param revisionId
+	 *            Identifier of the revision, used as cache key.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The full path of the matching candidate, or <code>null</code>
+	 *         if the contents don't decide.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static IPath choose(List<ResolutionCandidate> candidates, ITypedElement revision, String revisionId, IProgressMonitor monitor) {
+		Validate.notEmpty(candidates);
+		Validate.notNull(revision);
+		Validate.notEmpty(revisionId);
+		long start = System.nanoTime();
+		try {
+			IFile firstFile = ResourcesPlugin.getWorkspace().getRoot().getFile(candidates.get(0).getPath());
+			ContentSketch revisionSketch = getRevisionSketch(revision, revisionId, firstFile);
+			if (revisionSketch == null) {
+				return null;
+			}
+			Map<IPath, ContentSketch> sketches = sketchCandidates(candidates, monitor);
+			return choose(revisionSketch, sketches);
+		}
+		finally {
+			OpenWorkspaceFileHelper.logTiming("compare contents", revisionId, start);
+		}
+	}
+
+	/**
+	 * Chooses the candidate matching the revision by the given sketches.
+	 *
+	 * @param revisionSketch
+	 *            The sketch of the revision.
+	 * @param sketches
+	 *            The sketches of the readable candidates.
+	 * @return The full path of the matching candidate, or <code>null</code>.
+	 */
+	private static IPath choose(ContentSketch revisionSketch, Map<IPath, ContentSketch> sketches) {
+		IPath identical = null;
+		for (Map.Entry<IPath, ContentSketch> entry : sketches.entrySet()) {
+			if (entry.getValue().isIdentical(revisionSketch)) {
+				if (identical != null) {
+					return null;
+				}
+				identical = entry.getKey();
+			}
+		}
+		if (identical != null) {
+			ResolutionTelemetry.increment("disambiguated by blob id");
+			return identical;
+		}
+		IPath best = null;
+		double bestSimilarity = 0;
+		double secondSimilarity = 0;
+		for (Map.Entry<IPath, ContentSketch> entry : sketches.entrySet()) {
+			double similarity = entry.getValue().getSimilarity(revisionSketch);
+			if (similarity > bestSimilarity) {
+				secondSimilarity = bestSimilarity;
+				bestSimilarity = similarity;
+				best = entry.getKey();
+			}
+			else if (similarity > secondSimilarity) {
+				secondSimilarity = similarity;
+			}
+		}
+		if (best != null && bestSimilarity >= MIN_SIMILARITY && bestSimilarity - secondSimilarity >= MIN_MARGIN) {
+			ResolutionTelemetry.increment("disambiguated by similarity");
+			return best;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the sketch of the given revision.
+	 *
+	 * @param revision
+	 *            The revision.
+	 * @param revisionId
+	 *            Identifier of the revision.
+	 * @param file
+	 *            A candidate, whose charset is used if the revision does not
+	 *            define one.
+	 * @return The sketch, or <code>null</code> if the revision could not be
+	 *         read.
+	 */
+	private static ContentSketch getRevisionSketch(ITypedElement revision, String revisionId, IFile file) {
+		String key = "revision|" + revisionId;
+		ContentSketch sketch = CACHE.get(key);
+		if (sketch != null || !(revision instanceof IStreamContentAccessor)) {
+			return sketch;
+		}
+		try {
+			String charset = null;
+			if (revision instanceof IEncodedStreamContentAccessor) {
+				charset = ((IEncodedStreamContentAccessor) revision).getCharset();
+			}
+			if (charset == null) {
+				charset = file.getCharset();
+			}
+			InputStream contents = ((IStreamContentAccessor) revision).getContents();
+			sketch = ContentSketch.create(contents != null ? readFully(contents) : new byte[0], charset);
+			CACHE.put(key, sketch);
+			return sketch;
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The content of " + revisionId + " could not be read", e));
+		}
+		catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The content of " + revisionId + " could not be read", e));
+		}
+		return null;
+	}
+
+	/**
+	 * Sketches the given candidates in parallel.
+	 *
+	 * @param candidates
+	 *            The candidates.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The sketches of the readable candidates, in the order of the
+	 *         candidates.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 */
+	private static Map<IPath, ContentSketch> sketchCandidates(List<ResolutionCandidate> candidates, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, "Comparing contents", candidates.size());
+		CompletionService<ContentSketch> completionService = new ExecutorCompletionService<ContentSketch>(ParallelFileSearch.getExecutor());
+		List<Future<ContentSketch>> futures = new ArrayList<Future<ContentSketch>>(candidates.size());
+		for (ResolutionCandidate candidate : candidates) {
+			final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(candidate.getPath());
+			futures.add(completionService.submit(new Callable<ContentSketch>() {
+
+				@Override
+				public ContentSketch call() {
+					return getFileSketch(file);
+				}
+			}));
+		}
+		try {
+			int remaining = futures.size();
+			while (remaining > 0) {
+				if (progress.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				if (completionService.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS) != null) {
+					remaining--;
+					progress.worked(1);
+				}
+			}
+			Map<IPath, ContentSketch> sketches = new LinkedHashMap<IPath, ContentSketch>();
+			for (int i = 0; i < candidates.size(); i++) {
+				ContentSketch sketch = futures.get(i).get();
+				if (sketch != null) {
+					sketches.put(candidates.get(i).getPath(), sketch);
+				}
+			}
+			return sketches;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("The candidates could not be compared", e.getCause());
+		}
+		finally {
+			for (Future<ContentSketch> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Returns the sketch of the given file, cached per modification stamp.
+	 *
+	 * @param file
+	 *            The file.
+	 * @return The sketch, or <code>null</code> if the file is too large or
+	 *         could not be read.
+	 */
+	private static ContentSketch getFileSketch(IFile file) {
+		String key = file.getFullPath() + "|" + file.getModificationStamp();
+		ContentSketch sketch = CACHE.get(key);
+		if (sketch != null) {
+			return sketch;
+		}
+		long size = MappedFileText.getSize(file);
+		if (size < 0 || size > MAX_FILE_SIZE) {
+			return null;
+		}
+		try {
+			sketch = ContentSketch.create(readFully(file.getContents()), file.getCharset());
+			CACHE.put(key, sketch);
+			return sketch;
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The file " + file.getFullPath() + " could not be read", e));
+		}
+		catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The file " + file.getFullPath() + " could not be read", e));
+		}
+		return null;
+	}
+
+	/**
+	 * Reads and closes the given stream.
+	 *
+	 * @param input
+	 *            The stream.
+	 * @return The bytes read.
+	 * @throws IOException
+	 *             If the stream could not be read.
+	 */
+	private static byte[] readFully(InputStream input) throws IOException {
+		try {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+			return output.toByteArray();
+		}
+		finally {
+			input.close();
+		}
+	}
+
+}
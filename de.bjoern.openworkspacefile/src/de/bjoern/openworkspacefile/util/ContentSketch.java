@@ -0,0 +1,199 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Summary of the content of a file to compare it with other versions of the
+ * file: the Git blob id of the content, which is equal for identical
+ * contents, and a MinHash sketch of its lines, which estimates the share of
+ * common lines of two contents. Lines are compared ignoring whitespace, empty
+ * lines are ignored. Immutable.
+ *
+ * @author funhoff
+ */
+public final class ContentSketch {
+
+	/**
+	 * Number of hash functions of the sketch.
+	 */
+	private static final int SKETCH_SIZE = 64;
+
+	/**
+	 * Seeds of the hash functions.
+	 */
+	private static final int[] SEEDS = new int[SKETCH_SIZE];
+
+	static {
+		int seed = 0x9E3779B9;
+		for (int i = 0; i < SKETCH_SIZE; i++) {
+			seed = mix(seed + 0x632BE5AB);
+			SEEDS[i] = seed;
+		}
+	}
+
+	/**
+	 * The Git blob id of the content.
+	 */
+	private final String blobId;
+
+	/**
+	 * Minimum hash of the lines for each hash function.
+	 */
+	private final int[] minHashes;
+
+	/**
+	 * <code>true</code> if the content has no line but whitespace.
+	 */
+	private final boolean empty;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param blobId
+	 *            The Git blob id of the content.
+	 * @param minHashes
+	 *            Minimum hash of the lines for each hash function.
+	 * @param empty
+	 *            <code>true</code> if the content has no line but whitespace.
+	 */
+	private ContentSketch(String blobId, int[] minHashes, boolean empty) {
+		this.blobId = blobId;
+		this.minHashes = minHashes;
+		this.empty = empty;
+	}
+
+	/**
+	 * Creates the sketch of the given content.
+	 *
+	 * @param content
+	 *            The raw content.
+	 * @param charset
+	 *            The charset to decode the lines with.
+	 * @return The sketch.
+	 * @throws UnsupportedEncodingException
+	 *             If the charset is not supported.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static ContentSketch create(byte[] content, String charset) throws UnsupportedEncodingException {
+		Validate.notNull(content);
+		Validate.notEmpty(charset);
+		String text = new String(content, charset);
+		int[] minHashes = new int[SKETCH_SIZE];
+		Arrays.fill(minHashes, Integer.MAX_VALUE);
+		boolean empty = true;
+		int lineHash = 0;
+		boolean blankLine = true;
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : '\n';
+			if (c == '\n' || c == '\r') {
+				if (!blankLine) {
+					for (int j = 0; j < SKETCH_SIZE; j++) {
+						minHashes[j] = Math.min(minHashes[j], mix(lineHash ^ SEEDS[j]));
+					}
+					empty = false;
+				}
+				lineHash = 0;
+				blankLine = true;
+			}
+			else if (!Character.isWhitespace(c)) {
+				lineHash = lineHash * 31 + c;
+				blankLine = false;
+			}
+		}
+		return new ContentSketch(computeBlobId(content), minHashes, empty);
+	}
+
+	/**
+	 * Returns the Git blob id of the content.
+	 *
+	 * @return The SHA-1 of the blob header and the content, in hex.
+	 * @since Creation date: 17.10.2026
+	 */
+	public String getBlobId() {
+		return blobId;
+	}
+
+	/**
+	 * Returns <code>true</code> if the content of this and the given sketch
+	 * are identical.
+	 *
+	 * @param other
+	 *            The other sketch.
+	 * @return <code>true</code> if both have the same blob id.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean isIdentical(ContentSketch other) {
+		return blobId.equals(other.blobId);
+	}
+
+	/**
+	 * Estimates the Jaccard similarity of the lines of this and the given
+	 * content.
+	 *
+	 * @param other
+	 *            The other sketch.
+	 * @return The share of equal minimum hashes, from 0 to 1.
+	 * @since Creation date: 17.10.2026
+	 */
+	public double getSimilarity(ContentSketch other) {
+		if (empty || other.empty) {
+			return empty && other.empty ? 1 : 0;
+		}
+		int equal = 0;
+		for (int i = 0; i < SKETCH_SIZE; i++) {
+			if (minHashes[i] == other.minHashes[i]) {
+				equal++;
+			}
+		}
+		return (double) equal / SKETCH_SIZE;
+	}
+
+	/**
+	 * Computes the Git blob id of the given content.
+	 *
+	 * @param content
+	 *            The raw content.
+	 * @return The blob id in hex.
+	 */
+	private static String computeBlobId(byte[] content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			digest.update(("blob " + content.length + "\0").getBytes("US-ASCII"));
+			byte[] id = digest.digest(content);
+			StringBuilder hex = new StringBuilder(id.length * 2);
+			for (byte b : id) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-1 is not supported.", e);
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException("US-ASCII is not supported.", e);
+		}
+	}
+
+	/**
+	 * Mixes the bits of the given value, the finalizer of MurmurHash3.
+	 *
+	 * @param value
+	 *            The value.
+	 * @return The mixed value.
+	 */
+	private static int mix(int value) {
+		int h = value;
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+}
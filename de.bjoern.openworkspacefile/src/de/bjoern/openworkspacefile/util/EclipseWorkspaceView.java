@@ -0,0 +1,151 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.preferences.PreferenceConstants;
+
+/**
+ * {@link WorkspaceView} of the Eclipse workspace. Files are visited by
+ * {@link IResourceProxyVisitor}s, so no resource objects are created. Failures
+ * are logged and the affected container is skipped.
+ *
+ * @author funhoff
+ */
+public class EclipseWorkspaceView implements WorkspaceView {
+
+	/**
+	 * The tracker of the project nesting.
+	 */
+	private final ProjectNestingTracker nestingTracker;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param nestingTracker
+	 *            The tracker of the project nesting.
+	 * @since Creation date: 17.10.2026
+	 */
+	public EclipseWorkspaceView(ProjectNestingTracker nestingTracker) {
+		Validate.notNull(nestingTracker);
+		this.nestingTracker = nestingTracker;
+	}
+
+	@Override
+	public String[] getOpenProjectNames() {
+		List<String> names = new ArrayList<String>();
+		for (IProject project : getRoot().getProjects()) {
+			if (project.isOpen()) {
+				names.add(project.getName());
+			}
+		}
+		return names.toArray(new String[names.size()]);
+	}
+
+	@Override
+	public IPath[] getTopLevelFolders(String projectName) {
+		IProject project = getRoot().getProject(projectName);
+		List<IPath> folders = new ArrayList<IPath>();
+		try {
+			for (IResource member : project.members()) {
+				if (member.getType() == IResource.FOLDER) {
+					folders.add(member.getFullPath());
+				}
+			}
+		}
+		catch (CoreException e) {
+			logError(project, e);
+		}
+		return folders.toArray(new IPath[folders.size()]);
+	}
+
+	@Override
+	public void visitFiles(IPath containerPath, final boolean recursive, final FileVisitor visitor) {
+		IContainer container = containerPath.segmentCount() == 1 ? getRoot().getProject(containerPath.segment(0)) : getRoot().getFolder(containerPath);
+		if (visitor.isDone() || !container.isAccessible()) {
+			return;
+		}
+		try {
+			container.accept(new IResourceProxyVisitor() {
+
+				/**
+				 * <code>true</code> until the container itself has been
+				 * visited.
+				 */
+				private boolean atContainer = true;
+
+				@Override
+				public boolean visit(IResourceProxy proxy) throws CoreException {
+					if (proxy.getType() == IResource.FILE) {
+						if (visitor.acceptName(proxy.getName())) {
+							visitor.visitFile(proxy.requestFullPath());
+						}
+						return false;
+					}
+					if (atContainer) {
+						atContainer = false;
+						return !visitor.isDone();
+					}
+					return recursive && !visitor.isDone();
+				}
+			}, IResource.NONE);
+		}
+		catch (CoreException e) {
+			logError(container, e);
+		}
+	}
+
+	@Override
+	public boolean exists(IPath filePath) {
+		return filePath.segmentCount() > 1 && getRoot().getFile(filePath).exists();
+	}
+
+	/**
+	 * {@inheritDoc} Chooses the innermost or outermost container according to
+	 * the preferences.
+	 */
+	@Override
+	public IPath getCanonicalPath(IPath filePath) {
+		long start = System.nanoTime();
+		boolean innermost = PreferenceConstants.NESTED_PROJECTS_INNERMOST.equals(Activator.getDefault().getPreferenceStore().getString(PreferenceConstants.NESTED_PROJECTS));
+		IPath canonicalPath = nestingTracker.getNesting().getCanonicalPath(filePath, innermost);
+		OpenWorkspaceFileHelper.logTiming("canonical path", filePath, start);
+		return canonicalPath;
+	}
+
+	/**
+	 * Returns the workspace root.
+	 *
+	 * @return The workspace root.
+	 */
+	private static IWorkspaceRoot getRoot() {
+		return ResourcesPlugin.getWorkspace().getRoot();
+	}
+
+	/**
+	 * Logs that the given container could not be read.
+	 *
+	 * @param container
+	 *            The container.
+	 * @param e
+	 *            The exception.
+	 */
+	private static void logError(IContainer container, CoreException e) {
+		Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The container " + container.getFullPath() + " could not be searched", e));
+	}
+
+}
@@ -0,0 +1,333 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.egit.core.project.RepositoryMapping;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.RenameDetector;
+import org.eclipse.jgit.events.RefsChangedEvent;
+import org.eclipse.jgit.events.RefsChangedListener;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.resolver.RenamedPaths;
+
+/**
+ * Puts the renames found in the history of the Git repositories of the open
+ * projects into the {@link RenamedPaths} of their repository. The commits are
+ * read oldest first, and only the trees that differ from the first parent are
+ * compared. Each repository is read from the last processed commits on, so
+ * after the first run only new commits are compared. The processed commits
+ * are recorded every {@link #CHECKPOINT_COMMITS} commits, so a canceled run
+ * continues where it stopped. Runs again whenever the refs of a repository
+ * change. Thread safe.
+ *
+ * @author funhoff
+ */
+public class GitRenameTracker implements RefsChangedListener {
+
+	/**
+	 * Number of commits read before the processed commits are recorded.
+	 */
+	private static final int CHECKPOINT_COMMITS = 2000;
+
+	/**
+	 * The renames to fill.
+	 */
+	private final RenamedPaths renames;
+
+	/**
+	 * Separator of the commit ids of the processed boundary of a repository.
+	 */
+	private static final String ID_SEPARATOR = ","; //$NON-NLS-1$
+
+	/**
+	 * Ids of the last processed commits by repository directory, separated by
+	 * {@link #ID_SEPARATOR}. All of their ancestors have been processed.
+	 */
+	private final Map<String, String> processedHeads = new LinkedHashMap<String, String>();
+
+	/**
+	 * The job reading the histories.
+	 */
+	private final Job job = new Job("Reading renames from the Git history") {
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				update(monitor);
+				return Status.OK_STATUS;
+			}
+			catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+		}
+	};
+
+	/**
+	 * Constructor.
+	 *
+	 * @param renames
+	 *            The renames to fill.
+	 * @since Creation date: 17.10.2026
+	 */
+	public GitRenameTracker(RenamedPaths renames) {
+		Validate.notNull(renames);
+		this.renames = renames;
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Schedules reading the new commits of all repositories. Returns
+	 * immediately.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	public void schedule() {
+		job.schedule();
+	}
+
+	/**
+	 * Cancels reading the histories.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	public void cancel() {
+		job.cancel();
+	}
+
+	@Override
+	public void onRefsChanged(RefsChangedEvent event) {
+		schedule();
+	}
+
+	/**
+	 * Returns the last processed commits, e.g. to store them.
+	 *
+	 * @return Commit ids by repository directory.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized Map<String, String> toMap() {
+		return new LinkedHashMap<String, String>(processedHeads);
+	}
+
+	/**
+	 * Replaces the last processed commits by the given ones.
+	 *
+	 * @param map
+	 *            Commit ids by repository directory, as returned by
+	 *            {@link #toMap()}.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized void load(Map<String, String> map) {
+		processedHeads.clear();
+		processedHeads.putAll(map);
+	}
+
+	/**
+	 * Reads the new commits of the repositories of the open projects.
+	 *
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 */
+	private void update(IProgressMonitor monitor) {
+		List<Repository> repositories = getRepositories();
+		SubMonitor progress = SubMonitor.convert(monitor, repositories.size());
+		for (Repository repository : repositories) {
+			if (progress.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				update(repository, progress.newChild(1));
+			}
+			catch (IOException e) {
+				Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "The history of " + repository.getDirectory() + " could not be read", e));
+			}
+		}
+	}
+
+	/**
+	 * Returns the distinct repositories of the open projects shared with Git.
+	 *
+	 * @return The repositories.
+	 */
+	private static List<Repository> getRepositories() {
+		List<Repository> repositories = new ArrayList<Repository>();
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			if (!project.isOpen()) {
+				continue;
+			}
+			RepositoryMapping mapping = RepositoryMapping.getMapping(project);
+			Repository repository = mapping != null ? mapping.getRepository() : null;
+			if (repository != null && !repositories.contains(repository)) {
+				repositories.add(repository);
+			}
+		}
+		return repositories;
+	}
+
+	/**
+	 * Reads the commits of the given repository which are not ancestors of the
+	 * last processed commits, oldest first, and puts their renames. Records
+	 * the processed commits every {@link #CHECKPOINT_COMMITS} commits and when
+	 * done or canceled.
+	 *
+	 * @param repository
+	 *            The repository.
+	 * @param monitor
+	 *            The progress monitor.
+	 * @throws IOException
+	 *             If the history could not be read.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 */
+	private void update(Repository repository, IProgressMonitor monitor) throws IOException {
+		String key = repository.getDirectory().getAbsolutePath();
+		ObjectId head = repository.resolve(Constants.HEAD);
+		String processedIds;
+		synchronized (this) {
+			processedIds = processedHeads.get(key);
+		}
+		if (head == null || head.name().equals(processedIds)) {
+			return;
+		}
+		RevWalk walk = new RevWalk(repository);
+		try {
+			walk.sort(RevSort.TOPO);
+			walk.sort(RevSort.REVERSE, true);
+			walk.markStart(walk.parseCommit(head));
+			// the processed commits not followed by a processed child yet
+			Set<RevCommit> boundary = new LinkedHashSet<RevCommit>();
+			if (processedIds != null) {
+				for (String processedId : processedIds.split(ID_SEPARATOR)) {
+					ObjectId id = ObjectId.fromString(processedId);
+					if (repository.hasObject(id)) {
+						RevCommit processed = walk.parseCommit(id);
+						walk.markUninteresting(processed);
+						boundary.add(processed);
+					}
+				}
+			}
+			SubMonitor progress = SubMonitor.convert(monitor, "Reading renames of " + repository.getDirectory(), CHECKPOINT_COMMITS);
+			int count = 0;
+			try {
+				for (RevCommit commit : walk) {
+					if (progress.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					if (commit.getParentCount() > 0) {
+						putRenames(repository, key, walk.parseCommit(commit.getParent(0)), commit);
+					}
+					for (RevCommit parent : commit.getParents()) {
+						boundary.remove(parent);
+					}
+					boundary.add(commit);
+					progress.worked(1);
+					if (++count % CHECKPOINT_COMMITS == 0) {
+						setProcessed(key, boundary);
+						progress.setWorkRemaining(CHECKPOINT_COMMITS);
+					}
+				}
+				boundary.clear();
+				boundary.add(walk.parseCommit(head));
+			}
+			finally {
+				setProcessed(key, boundary);
+			}
+		}
+		finally {
+			walk.release();
+		}
+	}
+
+	/**
+	 * Records the given commits as the last processed ones of the given
+	 * repository.
+	 *
+	 * @param key
+	 *            The repository directory.
+	 * @param boundary
+	 *            The processed commits whose descendants have not been
+	 *            processed.
+	 */
+	private void setProcessed(String key, Set<RevCommit> boundary) {
+		if (boundary.isEmpty()) {
+			return;
+		}
+		StringBuilder ids = new StringBuilder();
+		for (RevCommit commit : boundary) {
+			if (ids.length() > 0) {
+				ids.append(ID_SEPARATOR);
+			}
+			ids.append(commit.name());
+		}
+		synchronized (this) {
+			processedHeads.put(key, ids.toString());
+		}
+	}
+
+	/**
+	 * Puts the renames between the given parent and commit. Only the subtrees
+	 * which differ are walked.
+	 *
+	 * @param repository
+	 *            The repository.
+	 * @param key
+	 *            The repository directory.
+	 * @param parent
+	 *            The first parent of the commit.
+	 * @param commit
+	 *            The commit.
+	 * @throws IOException
+	 *             If the trees could not be read.
+	 */
+	private void putRenames(Repository repository, String key, RevCommit parent, RevCommit commit) throws IOException {
+		TreeWalk treeWalk = new TreeWalk(repository);
+		try {
+			treeWalk.setRecursive(true);
+			treeWalk.setFilter(TreeFilter.ANY_DIFF);
+			treeWalk.addTree(parent.getTree());
+			treeWalk.addTree(commit.getTree());
+			List<DiffEntry> entries = DiffEntry.scan(treeWalk);
+			if (entries.isEmpty()) {
+				return;
+			}
+			RenameDetector detector = new RenameDetector(repository);
+			detector.addAll(entries);
+			for (DiffEntry entry : detector.compute()) {
+				if (entry.getChangeType() == DiffEntry.ChangeType.RENAME) {
+					renames.put(key, entry.getOldPath(), entry.getNewPath());
+				}
+			}
+		}
+		finally {
+			treeWalk.release();
+		}
+	}
+
+}
@@ -0,0 +1,243 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.egit.core.internal.storage.OpenWorkspaceVersionEnabled;
+import org.eclipse.egit.core.project.RepositoryMapping;
+import org.eclipse.egit.ui.internal.revision.FileRevisionTypedElement;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.team.core.history.IFileRevision;
+
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.resolver.RepositoryMappingSource;
+import de.bjoern.openworkspacefile.resolver.RepositoryMappings;
+
+/**
+ * Keeps the {@link RepositoryMappings} of the open projects shared with Git up
+ * to date, read from the EGit {@link RepositoryMapping}s. The mappings are
+ * computed on first use and discarded whenever a project is added, removed,
+ * opened, closed, moved or gets another description. The cached resolutions
+ * of the repositories of such projects are invalidated then.
+ *
+ * @author funhoff
+ */
+public class GitRepositoryMappingTracker implements IResourceChangeListener, RepositoryMappingSource {
+
+	/**
+	 * Flags of project deltas which may change the mappings.
+	 */
+	private static final int PROJECT_FLAGS = IResourceDelta.OPEN | IResourceDelta.DESCRIPTION | IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO;
+
+	/**
+	 * The current mappings. <code>null</code> if they have to be computed.
+	 */
+	private volatile RepositoryMappings mappings;
+
+	/**
+	 * Number of changes affecting the mappings, so mappings computed during a
+	 * change are not kept.
+	 */
+	private volatile int changeCount;
+
+	/**
+	 * Last known Git directories by full path of the project, including
+	 * projects meanwhile removed, to invalidate their repositories.
+	 */
+	private final Map<IPath, String> repositoryDirectories = new HashMap<IPath, String>();
+
+	/**
+	 * The cache invalidated per repository.
+	 */
+	private final ResolutionCache resolutionCache;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param resolutionCache
+	 *            The cache whose entries of a repository are invalidated when
+	 *            the mapping of its projects changes.
+	 * @since Creation date: 17.10.2026
+	 */
+	public GitRepositoryMappingTracker(ResolutionCache resolutionCache) {
+		Validate.notNull(resolutionCache);
+		this.resolutionCache = resolutionCache;
+	}
+
+	/**
+	 * Returns the identity of the repository of the given compare element,
+	 * the absolute path of its Git directory, as the key of the cached
+	 * resolutions of its repository relative path.
+	 *
+	 * @param element
+	 *            The compare element. Can be <code>null</code>.
+	 * @return The Git directory, or <code>null</code> if the element is no
+	 *         revision of a Git repository.
+	 * @since Creation date: 17.10.2026
+	 */
+	@SuppressWarnings("restriction")
+	public static String getRepositoryDirectory(ITypedElement element) {
+		if (!(element instanceof FileRevisionTypedElement)) {
+			return null;
+		}
+		IFileRevision fileRevision = ((FileRevisionTypedElement) element).getFileRevision();
+		if (!(fileRevision instanceof OpenWorkspaceVersionEnabled)) {
+			return null;
+		}
+		Repository repository = ((OpenWorkspaceVersionEnabled) fileRevision).getRepository();
+		return repository != null ? repository.getDirectory().getAbsolutePath() : null;
+	}
+
+	@Override
+	public RepositoryMappings getMappings() {
+		RepositoryMappings currentMappings = mappings;
+		if (currentMappings == null) {
+			int computedChangeCount = changeCount;
+			Map<IPath, String> directories = new HashMap<IPath, String>();
+			currentMappings = computeMappings(directories);
+			synchronized (this) {
+				repositoryDirectories.putAll(directories);
+				if (computedChangeCount == changeCount) {
+					mappings = currentMappings;
+				}
+			}
+		}
+		return currentMappings;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta != null && affectsMappings(delta)) {
+			Set<String> directories = getAffectedDirectories(delta);
+			synchronized (this) {
+				changeCount++;
+				mappings = null;
+			}
+			for (String directory : directories) {
+				resolutionCache.invalidateRepository(directory);
+			}
+		}
+	}
+
+	/**
+	 * Returns the Git directories of the repositories whose mapping may be
+	 * changed by the given workspace delta, before and after the change.
+	 *
+	 * @param rootDelta
+	 *            The delta of the workspace root.
+	 * @return The affected Git directories.
+	 */
+	private Set<String> getAffectedDirectories(IResourceDelta rootDelta) {
+		Set<String> directories = new HashSet<String>();
+		for (IResourceDelta projectDelta : rootDelta.getAffectedChildren()) {
+			if (projectDelta.getKind() == IResourceDelta.CHANGED && (projectDelta.getFlags() & PROJECT_FLAGS) == 0) {
+				continue;
+			}
+			IProject project = (IProject) projectDelta.getResource();
+			synchronized (this) {
+				addDirectory(directories, repositoryDirectories.get(project.getFullPath()));
+				if (projectDelta.getMovedFromPath() != null) {
+					addDirectory(directories, repositoryDirectories.get(projectDelta.getMovedFromPath()));
+				}
+			}
+			if (project.isOpen()) {
+				addDirectory(directories, getRepositoryDirectory(project));
+			}
+		}
+		return directories;
+	}
+
+	/**
+	 * Adds the given directory if not <code>null</code>.
+	 *
+	 * @param directories
+	 *            The directories to add to.
+	 * @param directory
+	 *            The directory. Can be <code>null</code>.
+	 */
+	private static void addDirectory(Set<String> directories, String directory) {
+		if (directory != null) {
+			directories.add(directory);
+		}
+	}
+
+	/**
+	 * Returns the Git directory of the repository the given project is shared
+	 * with.
+	 *
+	 * @param project
+	 *            The open project.
+	 * @return The absolute path of the Git directory, or <code>null</code> if
+	 *         the project is not shared with Git.
+	 */
+	private static String getRepositoryDirectory(IProject project) {
+		try {
+			RepositoryMapping mapping = RepositoryMapping.getMapping(project);
+			Repository repository = mapping != null ? mapping.getRepository() : null;
+			return repository != null ? repository.getDirectory().getAbsolutePath() : null;
+		}
+		catch (RuntimeException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "The repository mapping of " + project.getName() + " could not be read", e));
+			return null;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the given workspace delta may change the
+	 * mappings.
+	 *
+	 * @param rootDelta
+	 *            The delta of the workspace root.
+	 * @return <code>true</code> if the mappings have to be computed again.
+	 */
+	private static boolean affectsMappings(IResourceDelta rootDelta) {
+		for (IResourceDelta projectDelta : rootDelta.getAffectedChildren()) {
+			if (projectDelta.getKind() != IResourceDelta.CHANGED || (projectDelta.getFlags() & PROJECT_FLAGS) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the mappings of the open projects shared with Git.
+	 *
+	 * @param directories
+	 *            The map to put the Git directories of the projects in.
+	 * @return The mappings.
+	 */
+	private static RepositoryMappings computeMappings(Map<IPath, String> directories) {
+		Map<IPath, String> relativePaths = new HashMap<IPath, String>();
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			if (!project.isOpen()) {
+				continue;
+			}
+			try {
+				RepositoryMapping mapping = RepositoryMapping.getMapping(project);
+				String relativePath = mapping != null ? mapping.getRepoRelativePath(project) : null;
+				if (relativePath != null) {
+					relativePaths.put(project.getFullPath(), relativePath);
+					directories.put(project.getFullPath(), mapping.getRepository().getDirectory().getAbsolutePath());
+				}
+			}
+			catch (RuntimeException e) {
+				Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "The repository mapping of " + project.getName() + " could not be read", e));
+			}
+		}
+		return relativePaths.isEmpty() ? RepositoryMappings.EMPTY : new RepositoryMappings(relativePaths);
+	}
+
+}
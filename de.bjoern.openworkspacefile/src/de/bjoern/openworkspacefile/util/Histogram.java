@@ -0,0 +1,216 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of non negative values with a bounded relative error, in the
+ * manner of an HDR histogram: values below {@link #SUB_BUCKET_COUNT} are
+ * counted exactly, larger values in {@link #SUB_BUCKET_COUNT} linear buckets
+ * per power of two, i.e. with an error of at most about 3%. Recording is
+ * lock free and allocates nothing.
+ *
+ * @author funhoff
+ */
+public class Histogram {
+
+	/**
+	 * Number of bits of a value distinguished within a power of two.
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	/**
+	 * Number of buckets per power of two.
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Number of buckets covering all long values.
+	 */
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	/**
+	 * The name of the histogram.
+	 */
+	private final String name;
+
+	/**
+	 * The unit of the values, e.g. <code>ns</code>.
+	 */
+	private final String unit;
+
+	/**
+	 * The number of values per bucket.
+	 */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	/**
+	 * The number of values.
+	 */
+	private final AtomicLong totalCount = new AtomicLong();
+
+	/**
+	 * The sum of the values.
+	 */
+	private final AtomicLong sum = new AtomicLong();
+
+	/**
+	 * The largest value.
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param name
+	 *            The name of the histogram.
+	 * @param unit
+	 *            The unit of the values, e.g. <code>ns</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	public Histogram(String name, String unit) {
+		this.name = name;
+		this.unit = unit;
+	}
+
+	/**
+	 * Records the given value. Negative values are recorded as 0.
+	 *
+	 * @param value
+	 *            The value.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void record(long value) {
+		long recorded = Math.max(0, value);
+		counts.incrementAndGet(getBucket(recorded));
+		totalCount.incrementAndGet();
+		sum.addAndGet(recorded);
+		long currentMax = max.get();
+		while (recorded > currentMax && !max.compareAndSet(currentMax, recorded)) {
+			currentMax = max.get();
+		}
+	}
+
+	/**
+	 * Returns the name of the histogram.
+	 *
+	 * @return The name.
+	 * @since Creation date: 17.10.2026
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the unit of the values.
+	 *
+	 * @return The unit, e.g. <code>ns</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	public String getUnit() {
+		return unit;
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return The count.
+	 * @since Creation date: 17.10.2026
+	 */
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded values.
+	 *
+	 * @return The mean, or 0 if nothing has been recorded.
+	 * @since Creation date: 17.10.2026
+	 */
+	public double getMean() {
+		long count = totalCount.get();
+		return count == 0 ? 0 : (double) sum.get() / count;
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return The maximum, or 0 if nothing has been recorded.
+	 * @since Creation date: 17.10.2026
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the value below or equal to which the given percentage of the
+	 * recorded values lie, within the precision of the buckets.
+	 *
+	 * @param percentile
+	 *            The percentage, between 0 and 100.
+	 * @return The highest value of the bucket reaching the percentage, at most
+	 *         the maximum. 0 if nothing has been recorded.
+	 * @since Creation date: 17.10.2026
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = totalCount.get();
+		if (count == 0) {
+			return 0;
+		}
+		long threshold = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+		long cumulative = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			cumulative += counts.get(bucket);
+			if (cumulative >= threshold) {
+				return Math.min(getHighestValue(bucket), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Removes all recorded values.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	public void reset() {
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			counts.set(bucket, 0);
+		}
+		totalCount.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Returns the bucket of the given value.
+	 *
+	 * @param value
+	 *            The non negative value.
+	 * @return The index of the bucket.
+	 */
+	private static int getBucket(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+	}
+
+	/**
+	 * Returns the highest value counted in the given bucket.
+	 *
+	 * @param bucket
+	 *            The index of the bucket.
+	 * @return The highest value.
+	 */
+	private static long getHighestValue(int bucket) {
+		if (bucket < 2 * SUB_BUCKET_COUNT) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKET_COUNT - 1;
+		long mantissa = bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return ((mantissa + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,189 @@
+package de.bjoern.openworkspacefile.util;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+/**
+ * Finds the longest prefix of a search string occurring in a text. The text is
+ * scanned once with the Knuth-Morris-Pratt automaton of the search string, so
+ * the costs are linear in the length of the text and the search string.
+ * Characters are compared case insensitive.
+ *
+ * @author funhoff
+ */
+public final class LongestPrefixMatcher {
+
+	/**
+	 * Distance of the first window searched by
+	 * {@link #findNear(CharSequence, int, int)}.
+	 */
+	private static final int INITIAL_DISTANCE = 4096;
+
+	/**
+	 * The case folded search string.
+	 */
+	private final char[] pattern;
+
+	/**
+	 * Failure function of the pattern. <code>failure[i]</code> is the length
+	 * of the longest proper prefix of <code>pattern[0..i]</code> which is also
+	 * a suffix of it.
+	 */
+	private final int[] failure;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param searchString
+	 *            The string to search the longest prefix of.
+	 * @since Creation date: 17.10.2026
+	 */
+	public LongestPrefixMatcher(String searchString) {
+		Validate.notEmpty(searchString);
+		pattern = new char[searchString.length()];
+		for (int i = 0; i < pattern.length; i++) {
+			pattern[i] = fold(searchString.charAt(i));
+		}
+		failure = new int[pattern.length];
+		int k = 0;
+		for (int i = 1; i < pattern.length; i++) {
+			while (k > 0 && pattern[i] != pattern[k]) {
+				k = failure[k - 1];
+			}
+			if (pattern[i] == pattern[k]) {
+				k++;
+			}
+			failure[i] = k;
+		}
+	}
+
+	/**
+	 * Returns the region of the first occurrence of the longest prefix of the
+	 * search string in the given text.
+	 *
+	 * @param text
+	 *            The text to search in.
+	 * @return The region of the match, or <code>null</code> if not even the
+	 *         first character of the search string occurs in the text.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IRegion find(CharSequence text) {
+		return find(text, 0, text.length());
+	}
+
+	/**
+	 * Returns the region of the first occurrence of the longest prefix of the
+	 * search string in the given range of the text.
+	 *
+	 * @param text
+	 *            The text to search in.
+	 * @param start
+	 *            The offset to start the search at.
+	 * @param end
+	 *            The offset to end the search at, exclusive.
+	 * @return The region of the match, or <code>null</code> if not even the
+	 *         first character of the search string occurs in the range.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IRegion find(CharSequence text, int start, int end) {
+		return findNearest(text, start, end, start);
+	}
+
+	/**
+	 * Returns the region of the occurrence of the longest prefix of the search
+	 * string nearest to the given offset. The text is searched in windows
+	 * around the offset, growing from {@link #INITIAL_DISTANCE} up to the given
+	 * maximum distance, until the complete search string is found. So the
+	 * costs depend on the distance of the nearest occurrence and are bounded
+	 * for huge texts.
+	 *
+	 * @param text
+	 *            The text to search in.
+	 * @param offset
+	 *            The offset to search around, e.g. the start of a line.
+	 * @param maxDistance
+	 *            The maximum distance of the start of an occurrence from the
+	 *            offset.
+	 * @return The region of the match, or <code>null</code> if not even the
+	 *         first character of the search string occurs in the window.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IRegion findNear(CharSequence text, int offset, int maxDistance) {
+		int center = Math.max(0, Math.min(offset, text.length()));
+		int distance = Math.min(INITIAL_DISTANCE, maxDistance);
+		while (true) {
+			int start = Math.max(0, center - distance);
+			int end = (int) Math.min(text.length(), (long) center + distance + pattern.length);
+			IRegion region = findNearest(text, start, end, center);
+			boolean complete = region != null && region.getLength() == pattern.length;
+			if (complete || distance >= maxDistance || start == 0 && end == text.length()) {
+				return region;
+			}
+			distance = (int) Math.min(2L * distance, maxDistance);
+		}
+	}
+
+	/**
+	 * Returns the region of the occurrence of the longest prefix of the search
+	 * string in the given range of the text whose start is nearest to the
+	 * given offset. Of equally near occurrences the first one wins.
+	 *
+	 * @param text
+	 *            The text to search in.
+	 * @param start
+	 *            The offset to start the search at.
+	 * @param end
+	 *            The offset to end the search at, exclusive.
+	 * @param center
+	 *            The offset to measure the distance from.
+	 * @return The region of the match, or <code>null</code> if not even the
+	 *         first character of the search string occurs in the range.
+	 */
+	private IRegion findNearest(CharSequence text, int start, int end, int center) {
+		int state = 0;
+		int bestLength = 0;
+		int bestStart = -1;
+		for (int i = start; i < end; i++) {
+			char c = fold(text.charAt(i));
+			while (state > 0 && pattern[state] != c) {
+				state = failure[state - 1];
+			}
+			if (pattern[state] == c) {
+				state++;
+			}
+			if (state == 0) {
+				continue;
+			}
+			int matchStart = i - state + 1;
+			if (state > bestLength || state == bestLength && Math.abs(matchStart - center) < Math.abs(bestStart - center)) {
+				bestLength = state;
+				bestStart = matchStart;
+			}
+			if (bestLength == pattern.length && i - pattern.length + 1 >= center + Math.abs(bestStart - center)) {
+				// no later occurrence can be nearer
+				break;
+			}
+			if (state == pattern.length) {
+				// continue with the longest proper prefix to find later occurrences
+				state = failure[state - 1];
+			}
+		}
+		if (bestLength == 0) {
+			return null;
+		}
+		return new Region(bestStart, bestLength);
+	}
+
+	/**
+	 * Folds the case of the given character.
+	 *
+	 * @param c
+	 *            The character.
+	 * @return The case folded character.
+	 */
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+}
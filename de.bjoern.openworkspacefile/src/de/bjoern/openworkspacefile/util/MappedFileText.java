@@ -0,0 +1,119 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Reads the text of large workspace files without a file buffer. The local
+ * file is memory-mapped and decoded once, so neither a document with its line
+ * tracker nor an editor is created just to search the text. Unsaved changes
+ * of open editors are not seen.
+ *
+ * @author funhoff
+ */
+public class MappedFileText {
+
+	/**
+	 * The byte order mark, as decoded from UTF-8.
+	 */
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	/**
+	 * Private constructor.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	private MappedFileText() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Returns the size of the local file of the given workspace file.
+	 *
+	 * @param file
+	 *            The workspace file.
+	 * @return The size in bytes, or -1 if the file is not stored locally.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static long getSize(IFile file) {
+		Validate.notNull(file);
+		IPath location = file.getLocation();
+		return location != null ? location.toFile().length() : -1;
+	}
+
+	/**
+	 * Reads the text of the given file by its charset. A leading byte order
+	 * mark is skipped, as file buffers do.
+	 *
+	 * @param file
+	 *            The workspace file.
+	 * @return The text of the file.
+	 * @throws CoreException
+	 *             If the charset of the file could not be determined.
+	 * @throws IOException
+	 *             If the file is not stored locally, is too large to be mapped
+	 *             or could not be read.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static CharSequence read(IFile file) throws CoreException, IOException {
+		Validate.notNull(file);
+		IPath location = file.getLocation();
+		if (location == null) {
+			throw new IOException("The file " + file.getFullPath() + " is not stored locally.");
+		}
+		File localFile = location.toFile();
+		Charset charset = Charset.forName(file.getCharset());
+		FileInputStream input = new FileInputStream(localFile);
+		try {
+			FileChannel channel = input.getChannel();
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("The file " + file.getFullPath() + " is too large to be mapped.");
+			}
+			MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			CharBuffer text = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE).decode(bytes);
+			if (text.length() > 0 && text.charAt(0) == BYTE_ORDER_MARK) {
+				text.position(1);
+				return text.slice();
+			}
+			return text;
+		}
+		finally {
+			input.close();
+		}
+	}
+
+	/**
+	 * Returns the offset of the line containing the given offset.
+	 *
+	 * @param text
+	 *            The text.
+	 * @param offset
+	 *            The offset. Clamped to the text.
+	 * @return The offset of the first character of the line.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static int getLineOffset(CharSequence text, int offset) {
+		int lineOffset = Math.max(0, Math.min(offset, text.length()));
+		while (lineOffset > 0) {
+			char c = text.charAt(lineOffset - 1);
+			if (c == '\n' || c == '\r') {
+				break;
+			}
+			lineOffset--;
+		}
+		return lineOffset;
+	}
+
+}
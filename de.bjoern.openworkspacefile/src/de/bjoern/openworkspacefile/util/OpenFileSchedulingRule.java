@@ -0,0 +1,96 @@
+package de.bjoern.openworkspacefile.util;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+
+/**
+ * Scheduling rule preventing two jobs from opening the same file, or
+ * resolving the same repository path, at the same time. Rules conflict if
+ * they have the same key. Workspace files and repository paths have keys of
+ * their own, see {@link #forFile(IFile)} and
+ * {@link #forRepositoryPath(String)}.
+ * <p>
+ * The rule contains no other rule. The jobs holding it only read resources
+ * and open the editors in the UI thread, so they never begin a nested
+ * workspace or resource rule. A job which has to modify resources must not
+ * use this rule.
+ *
+ * @author funhoff
+ */
+public class OpenFileSchedulingRule implements ISchedulingRule {
+
+	/**
+	 * Prefix of the keys of workspace files.
+	 */
+	private static final String FILE_PREFIX = "file:";
+
+	/**
+	 * Prefix of the keys of repository paths.
+	 */
+	private static final String REPOSITORY_PATH_PREFIX = "repository:";
+
+	/**
+	 * Key identifying the file, e.g. the full path or repository path.
+	 */
+	private final String key;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param key
+	 *            Key identifying the file.
+	 * @since Creation date: 17.10.2026
+	 */
+	private OpenFileSchedulingRule(String key) {
+		Validate.notEmpty(key);
+		this.key = key;
+	}
+
+	/**
+	 * Creates the rule of the jobs opening the given workspace file.
+	 *
+	 * @param file
+	 *            The workspace file.
+	 * @return The rule keyed by the full path of the file.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static OpenFileSchedulingRule forFile(IFile file) {
+		Validate.notNull(file);
+		return new OpenFileSchedulingRule(FILE_PREFIX + file.getFullPath());
+	}
+
+	/**
+	 * Creates the rule of the jobs resolving the given repository path.
+	 *
+	 * @param repositoryPath
+	 *            The repository path.
+	 * @return The rule keyed by the repository path.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static OpenFileSchedulingRule forRepositoryPath(String repositoryPath) {
+		Validate.notEmpty(repositoryPath);
+		return new OpenFileSchedulingRule(REPOSITORY_PATH_PREFIX + repositoryPath);
+	}
+
+	/**
+	 * Returns the key identifying the file.
+	 *
+	 * @return The key.
+	 * @since Creation date: 17.10.2026
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	@Override
+	public boolean contains(ISchedulingRule rule) {
+		return rule == this;
+	}
+
+	@Override
+	public boolean isConflicting(ISchedulingRule rule) {
+		return rule instanceof OpenFileSchedulingRule && key.equals(((OpenFileSchedulingRule) rule).key);
+	}
+
+}
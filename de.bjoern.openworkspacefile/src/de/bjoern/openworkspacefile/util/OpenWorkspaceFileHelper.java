@@ -1,33 +1,46 @@
 package de.bjoern.openworkspacefile.util;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.io.IOException;
 import java.util.Map;
-import java.util.Set;
-import java.util.Vector;
 
 import org.apache.commons.lang3.Validate;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IFolder;
-import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.window.Window;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.dialogs.ElementListSelectionDialog;
+import org.eclipse.ui.editors.text.EditorsUI;
 import org.eclipse.ui.ide.IDE;
+import org.eclipse.ui.part.FileEditorInput;
 import org.eclipse.ui.texteditor.ITextEditor;
 
 import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.preferences.PreferenceConstants;
+import de.bjoern.openworkspacefile.resolver.ResolutionCandidate;
+import de.bjoern.openworkspacefile.resolver.ResolutionResult;
 
 /**
  * Helper class providing methods to find resources and open editors.
@@ -39,7 +52,13 @@ public class OpenWorkspaceFileHelper {
 	/**
 	 * Path separator.
 	 */
-	public static final String PATH_SEPARATOR = "/";
+	public static final String PATH_SEPARATOR = PathSuffixScorer.PATH_SEPARATOR;
+
+	/**
+	 * Maximum distance in characters from the line of the offset at which a
+	 * string to select is searched.
+	 */
+	public static final int MAX_SEARCH_DISTANCE = 256 * 1024;
 
 	/**
 	 * Private constructor.
@@ -52,7 +71,10 @@ public class OpenWorkspaceFileHelper {
 
 	/**
 	 * Opens the editor with the given file and selects the first occurring of
-	 * the given string.
+	 * the longest prefix of the given string in the whole document. The string
+	 * is searched in the calling thread, only opening the editor and selecting
+	 * the found region is done in the UI thread. Returns without waiting for
+	 * the editor.
 	 * 
 	 * @param activePage
 	 *            The page in which the editor will be opened.
@@ -63,30 +85,216 @@ public class OpenWorkspaceFileHelper {
 	 * @since Creation date: 02.04.2012
 	 */
 	public static void openEditorAndFindString(final IWorkbenchPage activePage, final IFile file, final String findString) {
+		openEditorAndFindString(activePage, file, findString, 0, null, null, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Opens the editor with the given file and selects the occurrence of the
+	 * longest prefix of the given string nearest to the line of the given
+	 * offset. If a revision is given, the offset is mapped from the revision
+	 * to the workspace file first. Only {@link #MAX_SEARCH_DISTANCE}
+	 * characters around the line are searched, growing outward from the line
+	 * until the string is found. The string is searched in the calling thread,
+	 * only opening the editor and selecting the found region is done in the UI
+	 * thread. Returns without waiting for the editor.
+	 * 
+	 * @param activePage
+	 *            The page in which the editor will be opened.
+	 * @param file
+	 *            The file to open.
+	 * @param findString
+	 *            String to find and select in the editor.
+	 * @param offset
+	 *            The offset to search around.
+	 * @param revision
+	 *            The revision the offset belongs to. Can be <code>null</code>
+	 *            if the offset belongs to the workspace file.
+	 * @param revisionId
+	 *            Identifier of the revision. Can be <code>null</code> if no
+	 *            revision is given.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void openEditorAndFindString(IWorkbenchPage activePage, IFile file, String findString, int offset, ITypedElement revision, String revisionId) {
+		openEditorAndFindString(activePage, file, findString, offset, revision, revisionId, MAX_SEARCH_DISTANCE);
+	}
+
+	/**
+	 * Opens the editor with the given file and selects the occurrence of the
+	 * longest prefix of the given string nearest to the line of the given
+	 * offset, searching at most the given distance around the line.
+	 * 
+	 * @param activePage
+	 *            The page in which the editor will be opened.
+	 * @param file
+	 *            The file to open.
+	 * @param findString
+	 *            String to find and select in the editor.
+	 * @param offset
+	 *            The offset to search around.
+	 * @param revision
+	 *            The revision the offset belongs to. Can be <code>null</code>.
+	 * @param revisionId
+	 *            Identifier of the revision. Can be <code>null</code>.
+	 * @param maxDistance
+	 *            The maximum distance of an occurrence from the line.
+	 */
+	private static void openEditorAndFindString(IWorkbenchPage activePage, IFile file, String findString, int offset, ITypedElement revision, String revisionId, int maxDistance) {
 		Validate.notNull(activePage);
 		Validate.notNull(file);
 		Validate.notEmpty(findString);
 		Validate.isTrue(file.exists());
-		Display.getDefault().syncExec(new Runnable() {
+		long start = System.nanoTime();
+		boolean largeFile = isLargeFile(file);
+		FoundText found = largeFile ? findInMappedFile(file, findString, offset, revision, revisionId, maxDistance) : findInDocument(file, findString, offset, revision, revisionId, maxDistance);
+		logTiming("search text", file, start);
+		openEditorAndReveal(activePage, file, found != null ? found.region : null, found != null ? found.text : null, largeFile);
+	}
 
-			@Override
-			public void run() {
-				try {
-					IEditorPart editor = IDE.openEditor(activePage, file);
-					IFindReplaceTargetExtension3 target = (IFindReplaceTargetExtension3) editor.getAdapter(IFindReplaceTarget.class);
-					findAndSelectText(target, findString);
+	/**
+	 * Searches the given string in the document of the file buffer of the
+	 * given file, see {@link #findNearLine(IDocument, String, int, int)}. If less
+	 * than half of the string is found, it is located by the
+	 * {@link SnippetLocator} ignoring whitespace, as the file might have been
+	 * reformatted.
+	 * 
+	 * @param file
+	 *            The file to search in.
+	 * @param findString
+	 *            The string to find.
+	 * @param offset
+	 *            The offset to search around.
+	 * @param revision
+	 *            The revision the offset belongs to. Can be <code>null</code>.
+	 * @param revisionId
+	 *            Identifier of the revision. Can be <code>null</code>.
+	 * @param maxDistance
+	 *            The maximum distance of an occurrence from the line.
+	 * @return The found text, or <code>null</code>.
+	 */
+	private static FoundText findInDocument(IFile file, String findString, int offset, ITypedElement revision, String revisionId, int maxDistance) {
+		IDocument document = connectDocument(file);
+		if (document == null) {
+			return null;
+		}
+		try {
+			int targetOffset = offset;
+			if (revision != null) {
+				targetOffset = RevisionOffsetMapper.mapOffset(file, document, revision, revisionId, offset);
+			}
+			IRegion region = findNearLine(document, findString, targetOffset, maxDistance);
+			if (region == null || region.getLength() * 2 < findString.length()) {
+				long modificationStamp = document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp() : file.getModificationStamp();
+				IRegion located = locateSnippet(file.getFullPath() + "|document|" + modificationStamp, document.get(), findString, targetOffset);
+				if (located != null) {
+					return new FoundText(located, document.get(located.getOffset(), located.getLength()));
 				}
+			}
+			return region != null ? new FoundText(region, findString.substring(0, region.getLength())) : null;
+		}
+		catch (BadLocationException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The file " + file.getFullPath() + " could not be searched", e));
+			return null;
+		}
+		finally {
+			disconnectDocument(file);
+		}
+	}
 
-				catch (PartInitException e) {
-					showAndLogErrorMessage("The editor could not be openend.", e);
-				}
+	/**
+	 * Searches the given string in the memory-mapped text of the given file,
+	 * around the line of the offset like
+	 * {@link #findNearLine(IDocument, String, int, int)}, and falls back to the
+	 * {@link SnippetLocator} like
+	 * {@link #findInDocument(IFile, String, int, ITypedElement, String, int)}.
+	 * 
+	 * @param file
+	 *            The file to search in.
+	 * @param findString
+	 *            The string to find.
+	 * @param offset
+	 *            The offset to search around.
+	 * @param revision
+	 *            The revision the offset belongs to. Can be <code>null</code>.
+	 * @param revisionId
+	 *            Identifier of the revision. Can be <code>null</code>.
+	 * @param maxDistance
+	 *            The maximum distance of an occurrence from the line.
+	 * @return The found text, or <code>null</code>.
+	 */
+	private static FoundText findInMappedFile(IFile file, String findString, int offset, ITypedElement revision, String revisionId, int maxDistance) {
+		CharSequence text = readMappedFile(file);
+		if (text == null) {
+			return null;
+		}
+		int targetOffset = offset;
+		if (revision != null) {
+			targetOffset = RevisionOffsetMapper.mapOffset(file, text, file.getModificationStamp(), revision, revisionId, offset);
+		}
+		IRegion region = new LongestPrefixMatcher(findString).findNear(text, MappedFileText.getLineOffset(text, targetOffset), maxDistance);
+		if (region == null || region.getLength() * 2 < findString.length()) {
+			IRegion located = locateSnippet(file.getFullPath() + "|file|" + file.getModificationStamp(), text, findString, targetOffset);
+			if (located != null) {
+				return new FoundText(located, text.subSequence(located.getOffset(), located.getOffset() + located.getLength()).toString());
 			}
-		});
+		}
+		return region != null ? new FoundText(region, findString.substring(0, region.getLength())) : null;
+	}
 
+	/**
+	 * Locates the given string ignoring whitespace by the cached fingerprints
+	 * of the given text.
+	 * 
+	 * @param key
+	 *            The key of the text, i.e. file and modification stamp.
+	 * @param text
+	 *            The text to search in.
+	 * @param findString
+	 *            The string to locate.
+	 * @param offset
+	 *            The offset preferred among equally good regions.
+	 * @return The located region, or <code>null</code>.
+	 */
+	private static IRegion locateSnippet(String key, CharSequence text, String findString, int offset) {
+		long start = System.nanoTime();
+		try {
+			return SnippetLocator.locate(key, text, findString, offset);
+		}
+		finally {
+			logTiming("locate snippet", key, start);
+		}
+	}
+
+	/**
+	 * Returns the region of the occurrence of the longest prefix of the given
+	 * string nearest to the line of the given offset, searching at most the
+	 * given distance around the line.
+	 * 
+	 * @param document
+	 *            The document to search in.
+	 * @param findString
+	 *            The string to find.
+	 * @param offset
+	 *            The offset in the document.
+	 * @param maxDistance
+	 *            The maximum distance of an occurrence from the line.
+	 * @return The found region, or <code>null</code> if not even the first
+	 *         character of the string occurs near the line.
+	 * @throws BadLocationException
+	 *             If the document has been changed concurrently.
+	 */
+	private static IRegion findNearLine(IDocument document, String findString, int offset, int maxDistance) throws BadLocationException {
+		int length = document.getLength();
+		int lineOffset = document.getLineOffset(document.getLineOfOffset(Math.max(0, Math.min(offset, length))));
+		int windowStart = Math.max(0, lineOffset - maxDistance);
+		int windowEnd = (int) Math.min(length, (long) lineOffset + maxDistance + findString.length());
+		String window = document.get(windowStart, windowEnd - windowStart);
+		IRegion region = new LongestPrefixMatcher(findString).findNear(window, lineOffset - windowStart, maxDistance);
+		return region != null ? new Region(windowStart + region.getOffset(), region.getLength()) : null;
 	}
 
 	/**
 	 * Opens the editor with the given file and goes to the given offset.
+	 * Returns without waiting for the editor.
 	 * 
 	 * @param activePage
 	 *            The page in which the editor will be opened.
@@ -97,45 +305,255 @@ public class OpenWorkspaceFileHelper {
 	 * @since Creation date: 13.09.2012
 	 */
 	public static void openEditorAndGoToOffset(final IWorkbenchPage activePage, final IFile file, final int offset) {
+		openEditorAndGoToOffset(activePage, file, offset, null, null);
+	}
+
+	/**
+	 * Opens the editor with the given file and goes to the given offset. If a
+	 * revision is given, the offset is mapped from the revision to the
+	 * workspace file in the calling thread. Returns without waiting for the
+	 * editor.
+	 * 
+	 * @param activePage
+	 *            The page in which the editor will be opened.
+	 * @param file
+	 *            The file to open.
+	 * @param offset
+	 *            The offset to got to.
+	 * @param revision
+	 *            The revision the offset belongs to. Can be <code>null</code>
+	 *            if the offset belongs to the workspace file.
+	 * @param revisionId
+	 *            Identifier of the revision. Can be <code>null</code> if no
+	 *            revision is given.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void openEditorAndGoToOffset(IWorkbenchPage activePage, IFile file, int offset, ITypedElement revision, String revisionId) {
 		Validate.notNull(activePage);
 		Validate.notNull(file);
 		if (offset < 0) {
 			throw new IllegalArgumentException("offset must be 0 or greater.");
 		}
-		Display.getDefault().syncExec(new Runnable() {
+		long start = System.nanoTime();
+		int targetOffset = offset;
+		boolean largeFile = isLargeFile(file);
+		if (largeFile) {
+			CharSequence text = readMappedFile(file);
+			if (text != null) {
+				if (revision != null) {
+					targetOffset = RevisionOffsetMapper.mapOffset(file, text, file.getModificationStamp(), revision, revisionId, offset);
+				}
+				targetOffset = Math.min(targetOffset, text.length());
+			}
+		}
+		else {
+			IDocument document = connectDocument(file);
+			if (document != null) {
+				try {
+					if (revision != null) {
+						targetOffset = RevisionOffsetMapper.mapOffset(file, document, revision, revisionId, offset);
+					}
+					targetOffset = Math.min(targetOffset, document.getLength());
+				}
+				finally {
+					disconnectDocument(file);
+				}
+			}
+		}
+		logTiming("compute offset", file, start);
+		openEditorAndReveal(activePage, file, new Region(targetOffset, 0), null, largeFile);
+	}
+
+	/**
+	 * Opens the editor with the given file in the UI thread and reveals the
+	 * given region. Returns without waiting for the editor.
+	 * 
+	 * @param activePage
+	 *            The page in which the editor will be opened.
+	 * @param file
+	 *            The file to open.
+	 * @param region
+	 *            The region to select. Can be <code>null</code>.
+	 * @param text
+	 *            The text of the region. Can be <code>null</code> for an
+	 *            empty region.
+	 * @param plainText
+	 *            <code>true</code> to open the plain text editor instead of
+	 *            the default editor of the file, unless an editor of the file
+	 *            is open already.
+	 * @since Creation date: 17.10.2026
+	 */
+	private static void openEditorAndReveal(final IWorkbenchPage activePage, final IFile file, final IRegion region, final String text, final boolean plainText) {
+		final long enqueued = System.nanoTime();
+		UIThreadBatch.enqueue(file, new Runnable() {
 
 			@Override
 			public void run() {
+				logTiming("wait for UI thread", file, enqueued);
+				long start = System.nanoTime();
 				try {
-					IEditorPart editor = IDE.openEditor(activePage, file);
-					if (editor instanceof ITextEditor) {
-						ITextEditor textEditor = (ITextEditor) editor;
-						textEditor.selectAndReveal(offset, 0);
+					IEditorPart editor;
+					if (plainText) {
+						editor = activePage.openEditor(new FileEditorInput(file), EditorsUI.DEFAULT_TEXT_EDITOR_ID, true, IWorkbenchPage.MATCH_INPUT);
+					}
+					else {
+						editor = IDE.openEditor(activePage, file);
+					}
+					if (region != null) {
+						selectRegion(editor, region, text);
 					}
 				}
 
 				catch (PartInitException e) {
 					showAndLogErrorMessage("The editor could not be openend.", e);
 				}
+				logTiming("open editor", file, start);
 			}
 		});
 	}
 
 	/**
-	 * Finds and selects the given String in the given target.
+	 * Returns <code>true</code> if the given file reaches the
+	 * {@link PreferenceConstants#LARGE_FILE_SIZE}. Files with a connected file
+	 * buffer, e.g. of an open editor, are never large, so their unsaved
+	 * changes are searched.
 	 * 
-	 * @param target
-	 *            The target to search.
-	 * @param findString
-	 *            The text to find.
-	 * @since Creation date: 12.04.2012
+	 * @param file
+	 *            The file.
+	 * @return <code>true</code> if the file is opened in preview mode.
+	 */
+	private static boolean isLargeFile(IFile file) {
+		long largeFileSize = Activator.getDefault().getPreferenceStore().getInt(PreferenceConstants.LARGE_FILE_SIZE) * 1024L;
+		if (largeFileSize <= 0) {
+			return false;
+		}
+		if (FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE) != null) {
+			return false;
+		}
+		return MappedFileText.getSize(file) >= largeFileSize;
+	}
+
+	/**
+	 * Reads the text of the given file by {@link MappedFileText}.
+	 * 
+	 * @param file
+	 *            The file to read.
+	 * @return The text, or <code>null</code> if the file could not be read.
+	 */
+	private static CharSequence readMappedFile(IFile file) {
+		long start = System.nanoTime();
+		try {
+			return MappedFileText.read(file);
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The file " + file.getFullPath() + " could not be read", e));
+		}
+		catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The file " + file.getFullPath() + " could not be read", e));
+		}
+		finally {
+			logTiming("read mapped file", file, start);
+		}
+		return null;
+	}
+
+	/**
+	 * Connects the file buffer of the given file and returns its document. The
+	 * document reflects unsaved changes of an open editor. Every successful
+	 * call must be followed by {@link #disconnectDocument(IFile)}.
+	 * 
+	 * @param file
+	 *            The file to connect.
+	 * @return The document of the file, or <code>null</code> if the file
+	 *         could not be read.
+	 * @since Creation date: 17.10.2026
+	 */
+	private static IDocument connectDocument(IFile file) {
+		ITextFileBufferManager bufferManager = FileBuffers.getTextFileBufferManager();
+		IPath path = file.getFullPath();
+		try {
+			bufferManager.connect(path, LocationKind.IFILE, null);
+			return bufferManager.getTextFileBuffer(path, LocationKind.IFILE).getDocument();
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The file " + path + " could not be read", e));
+			return null;
+		}
+	}
+
+	/**
+	 * Disconnects the file buffer of the given file.
+	 * 
+	 * @param file
+	 *            The file to disconnect.
+	 * @since Creation date: 17.10.2026
+	 */
+	private static void disconnectDocument(IFile file) {
+		try {
+			FileBuffers.getTextFileBufferManager().disconnect(file.getFullPath(), LocationKind.IFILE, null);
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The file buffer of " + file.getFullPath() + " could not be released", e));
+		}
+	}
+
+	/**
+	 * Records the time elapsed since the given start and logs it, if the
+	 * timing trace option is enabled.
+	 * 
+	 * @param stage
+	 *            The name of the measured stage.
+	 * @param subject
+	 *            The file or path the stage worked on.
+	 * @param startNanos
+	 *            The start time as returned by {@link System#nanoTime()}.
+	 * @since Creation date: 17.10.2026
 	 */
-	private static void findAndSelectText(IFindReplaceTargetExtension3 target, String findString) {
-		int index = -1;
-		String stringToFind = findString;
-		while (index == -1 && stringToFind.length() > 0) {
-			index = target.findAndSelect(0, stringToFind, true, false, false, false);
-			stringToFind = stringToFind.substring(0, stringToFind.length() - 1);
+	public static void logTiming(String stage, Object subject, long startNanos) {
+		logDuration(stage, subject, System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Records the duration of a stage in the {@link ResolutionTelemetry} and
+	 * logs it, if timing is enabled by the trace option.
+	 * 
+	 * @param stage
+	 *            The name of the stage.
+	 * @param subject
+	 *            The file or path the stage worked on.
+	 * @param nanos
+	 *            The duration in nanoseconds.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void logDuration(String stage, Object subject, long nanos) {
+		ResolutionTelemetry.recordNanos(stage, nanos);
+		if (Activator.getDefault().isTimingEnabled()) {
+			long micros = nanos / 1000;
+			Activator.getDefault().getLog().log(new Status(IStatus.INFO, Activator.PLUGIN_ID, stage + " " + subject + ": " + micros + " us"));
+		}
+	}
+
+	/**
+	 * Selects and reveals the given region in the given editor.
+	 * 
+	 * @param editor
+	 *            The editor.
+	 * @param region
+	 *            The region to select.
+	 * @param text
+	 *            The text of the region. Used to search the region in editors
+	 *            not implementing {@link ITextEditor}.
+	 * @since Creation date: 17.10.2026
+	 */
+	private static void selectRegion(IEditorPart editor, IRegion region, String text) {
+		if (editor instanceof ITextEditor) {
+			((ITextEditor) editor).selectAndReveal(region.getOffset(), region.getLength());
+		}
+		else {
+			Object target = editor.getAdapter(IFindReplaceTarget.class);
+			if (target instanceof IFindReplaceTargetExtension3) {
+				((IFindReplaceTargetExtension3) target).findAndSelect(region.getOffset(), text, true, false, false, false);
+			}
 		}
 	}
 
@@ -170,208 +588,225 @@ public class OpenWorkspaceFileHelper {
 	 * @since Creation date: 14.03.2012
 	 */
 	public static IFile getWorkspaceFile(String repositoryURI) {
-		Validate.notEmpty(repositoryURI);
-		String uri = "";
-		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
-		String[] split = repositoryURI.split(PATH_SEPARATOR);
-		for (int i = split.length - 1; i >= 0; i--) {
-			if (i == split.length - 1) {
-				uri = split[i] + uri;
-			}
-			else {
-				uri = split[i] + PATH_SEPARATOR + uri;
-			}
-			Path path = new Path(uri);
-
-			if (workspaceRoot.exists(path)) {
-				IFile fileForLocation = workspaceRoot.getFile(path);
-				IFile[] filesForLocationURI = workspaceRoot.findFilesForLocationURI(fileForLocation.getLocationURI());
-				return getNotResourceFile(filesForLocationURI);
-			}
-		}
-		return getWorkspaceFileFallBackStrategy(split[split.length - 1], repositoryURI);
+		return getWorkspaceFile(repositoryURI, null);
 	}
 
 	/**
-	 * Returns on of the given files. Should not be the resource file.
+	 * Returns the corresponding workspace file of the given repository URI. Can
+	 * be <code>null</code> if file not found. Answers from the resolution
+	 * cache if possible, otherwise by the workspace file resolver. If several
+	 * files match equally well, the first of them is returned.
 	 * 
-	 * @param files
-	 *            Files to choose the 'right' on.
-	 * @return The {@link IFile} not representing the resource file.
-	 * @since Creation date: 22.03.2012
+	 * @param repositoryURI
+	 *            The URI of the repository source.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The corresponding workspace file if found, otherwise returns
+	 *         <code>null</code>.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
 	 */
-	private static IFile getNotResourceFile(IFile[] files) {
-		Map<IFile, Integer> fileSeparatorCountMap = new HashMap<IFile, Integer>();
-		if (files.length == 1) {
-			return files[0];
-		}
-		else {
-			for (int i = 0; i < files.length; i++) {
-				String[] filePathSplit = files[i].getFullPath().toString().split("/");
-				int separatorCount = filePathSplit.length;
-				fileSeparatorCountMap.put(files[i], separatorCount);
-			}
-			Set<IFile> keySet = fileSeparatorCountMap.keySet();
-			IFile fileToReturn = null;
-			int lowestCount = Integer.MAX_VALUE;
-			for (Iterator<IFile> iterator = keySet.iterator(); iterator.hasNext();) {
-				IFile file = iterator.next();
-				int separatorCount = fileSeparatorCountMap.get(file);
-				if (separatorCount < lowestCount) {
-					fileToReturn = file;
-					lowestCount = separatorCount;
-				}
-			}
-			return fileToReturn;
-		}
+	public static IFile getWorkspaceFile(String repositoryURI, IProgressMonitor monitor) {
+		return getWorkspaceFile(repositoryURI, false, monitor);
 	}
 
 	/**
-	 * Searches the workspace for the most likely file.
+	 * Returns the corresponding workspace file of the given repository URI. Can
+	 * be <code>null</code> if file not found. Answers from the resolution
+	 * cache if possible, otherwise by the workspace file resolver. If several
+	 * files match equally well and asking is enabled by the preferences, the
+	 * user chooses one of them, and the choice is remembered for the other
+	 * files below the same repository prefix. Decided files teach the
+	 * repository root of their project.
 	 * 
-	 * @param filename
-	 *            The file name to search.
 	 * @param repositoryURI
 	 *            The URI of the repository source.
+	 * @param askIfAmbiguous
+	 *            <code>true</code> if the user may be asked to choose among
+	 *            equally good files.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
 	 * @return The corresponding workspace file if found, otherwise returns
 	 *         <code>null</code>.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled or the user canceled the
+	 *             choice.
+	 * @since Creation date: 17.10.2026
 	 */
-	private static IFile getWorkspaceFileFallBackStrategy(String filename, String repositoryURI) {
-		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
-		try {
-			IResource[] members = workspaceRoot.members();
-			IFile[] filesFromResources = getWorkspaceFileFromResources(members, filename);
-			if (filesFromResources != null && filesFromResources.length > 0) {
-				if (filesFromResources.length == 1) {
-					return filesFromResources[0];
-				}
-				else {
-					return getMostLikelyFile(filesFromResources, repositoryURI);
-				}
-			}
-		}
-		catch (CoreException e) {
-			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The fall back strategy failed", e));
-		}
-		return null;
+	public static IFile getWorkspaceFile(String repositoryURI, boolean askIfAmbiguous, IProgressMonitor monitor) {
+		return getWorkspaceFile(repositoryURI, null, null, askIfAmbiguous, monitor);
 	}
 
 	/**
-	 * Returns the depending {@link IFile}s if the given filename is found in
-	 * one of the given {@link IResource}s.
+	 * Returns the corresponding workspace file of the given repository URI
+	 * like {@link #getWorkspaceFile(String, boolean, IProgressMonitor)}. If
+	 * several files match equally well, the one whose content equals or
+	 * clearly resembles the given revision is returned without asking, see
+	 * {@link ContentDisambiguator}. Such a decision only holds for the
+	 * revision, so it is neither cached nor learned. The paths of Git
+	 * revisions are cached per repository.
 	 * 
-	 * @param resources
-	 *            The resources to search in.
-	 * @param filename
-	 *            The searched file name.
-	 * @return The corresponding {@link IFile}s if found. Otherwise
-	 *         <code>null</code> is returned.
-	 * @throws CoreException
+	 * @param repositoryURI
+	 *            The URI of the repository source.
+	 * @param revision
+	 *            The compared revision of the file. Can be <code>null</code>.
+	 * @param revisionId
+	 *            Identifier of the revision. Can be <code>null</code> if no
+	 *            revision is given.
+	 * @param askIfAmbiguous
+	 *            <code>true</code> if the user may be asked to choose among
+	 *            equally good files.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The corresponding workspace file if found, otherwise returns
+	 *         <code>null</code>.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled or the user canceled the
+	 *             choice.
+	 * @since Creation date: 17.10.2026
 	 */
-	private static IFile[] getWorkspaceFileFromResources(IResource[] resources, String filename) throws CoreException {
-		Vector<IFile> foundFilesVector = new Vector<IFile>();
-		for (int i = 0; i < resources.length; i++) {
-			IFile[] files = getWorkspaceFileFromSingleResource(resources[i], filename);
-			if (files != null && files.length > 0) {
-				for (int j = 0; j < files.length; j++) {
-					foundFilesVector.add(files[j]);
-				}
-			}
+	public static IFile getWorkspaceFile(String repositoryURI, ITypedElement revision, String revisionId, boolean askIfAmbiguous, IProgressMonitor monitor) {
+		Validate.notEmpty(repositoryURI);
+		Activator.getDefault().awaitStartup();
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		ResolutionCache cache = Activator.getDefault().getResolutionCache();
+		String repositoryRoot = GitRepositoryMappingTracker.getRepositoryDirectory(revision);
+		IFile cachedFile = cache.get(repositoryURI, repositoryRoot);
+		if (cachedFile != null) {
+			ResolutionTelemetry.increment("resolved by cache");
+			return cachedFile;
 		}
-		if (!foundFilesVector.isEmpty()) {
-			return foundFilesVector.toArray(new IFile[foundFilesVector.size()]);
+		ResolutionResult result = resolve(repositoryURI, repositoryRoot, progress.newChild(1));
+		ResolutionCandidate best = result.getBest();
+		if (best == null) {
+			ResolutionTelemetry.increment("not resolved");
+			return null;
 		}
-		return null;
-	}
-
-	/**
-	 * Returns the depending {@link IFile} if the given filename is found in the
-	 * given {@link IResource}.
-	 * 
-	 * @param resource
-	 *            The resource to search in.
-	 * @param filename
-	 *            The searched file name.
-	 * @return The corresponding {@link IFile} if found. Otherwise
-	 *         <code>null</code> is returned.
-	 * @throws CoreException
-	 */
-	private static IFile[] getWorkspaceFileFromSingleResource(IResource resource, String filename) throws CoreException {
-		if (resource instanceof IFile) {
-			IFile file = (IFile) resource;
-			if (filename.equals(file.getName())) {
-				return new IFile[]{file};
+		ResolutionTelemetry.increment("resolved by " + best.getStrategyName());
+		IPath path = best.getPath();
+		if (result.isAmbiguous()) {
+			ResolutionTelemetry.increment("ambiguous");
+			IPath matching = revision != null ? ContentDisambiguator.choose(result.getTiedCandidates(), revision, revisionId, progress.newChild(1)) : null;
+			if (matching != null) {
+				// the content decides for this revision only, so neither cache nor learn it
+				return getFile(matching);
 			}
-		}
-		else if (resource instanceof IFolder) {
-			IFolder folder = (IFolder) resource;
-			IResource[] members = folder.members();
-			if (members.length > 0) {
-				return getWorkspaceFileFromResources(members, filename);
+			if (!askIfAmbiguous || !Activator.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.ASK_IF_AMBIGUOUS)) {
+				// do not cache a guess
+				return getFile(path);
 			}
-		}
-		else if (resource instanceof IProject) {
-			IProject project = (IProject) resource;
-			if (project.isOpen()) {
-				IResource[] members = project.members();
-				if (members.length > 0) {
-					return getWorkspaceFileFromResources(members, filename);
-				}
+			path = chooseCandidate(result);
+			if (path == null) {
+				throw new OperationCanceledException();
 			}
+			Activator.getDefault().rememberChoice(repositoryURI, repositoryRoot, path);
 		}
-		return null;
+		IFile file = getFile(path);
+		cache.put(repositoryURI, repositoryRoot, file);
+		Activator.getDefault().getProjectRoots().learn(repositoryURI, repositoryRoot, path);
+		return file;
 	}
 
 	/**
-	 * Returns the most likely searched file.
+	 * Resolves the given repository URI by the workspace file resolver and
+	 * records the time spent in each strategy.
 	 * 
-	 * @param files
-	 *            The file to choose the most likely one.
 	 * @param repositoryURI
 	 *            The URI of the repository source.
-	 * @return The most likely searched file.
+	 * @param repositoryRoot
+	 *            The Git directory of the repository. Can be
+	 *            <code>null</code>.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The result with the ranked candidates.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
 	 */
-	private static IFile getMostLikelyFile(IFile[] files, String repositoryURI) {
-		Map<IFile, Integer> filePathIdentitiesMap = new HashMap<IFile, Integer>();
-		for (IFile file : files) {
-			filePathIdentitiesMap.put(file, 0);
-			String[] repositorySplit = repositoryURI.split(PATH_SEPARATOR);
-			String[] foundFileSplit = file.getFullPath().toString().split(PATH_SEPARATOR);
-			int inspectDeep = (repositorySplit.length > foundFileSplit.length) ? foundFileSplit.length : repositorySplit.length;
-			for (int i = 0; i < inspectDeep; i++) {
-				if (repositorySplit[repositorySplit.length - 1 - i].equals(foundFileSplit[foundFileSplit.length - 1 - i])) {
-					int oldDeep = filePathIdentitiesMap.get(file);
-					filePathIdentitiesMap.put(file, ++oldDeep);
-				}
-				else {
-					break;
-				}
-			}
+	private static ResolutionResult resolve(String repositoryURI, String repositoryRoot, IProgressMonitor monitor) {
+		ResolutionResult result = Activator.getDefault().getWorkspaceFileResolver().resolve(repositoryURI, repositoryRoot, monitor);
+		for (Map.Entry<String, Long> strategyNanos : result.getStrategyNanos().entrySet()) {
+			logDuration("resolve by " + strategyNanos.getKey(), repositoryURI, strategyNanos.getValue());
 		}
-
-		return evaluateMostLikelyFile(filePathIdentitiesMap);
+		logDuration("resolve", repositoryURI, result.getTotalNanos());
+		ResolutionTelemetry.recordCount("candidates", result.getCandidates().size());
+		return result;
 	}
 
 	/**
-	 * Returns the file with the highest path identity deep in the given map.
+	 * Lets the user choose among the candidates of the given result in the UI
+	 * thread. Waits for the choice.
 	 * 
-	 * @param filePathIdentitiesMap
-	 *            The Map containing file and path identity deep.
-	 * @return The {@link IFile} with the highest path identity deep.
+	 * @param result
+	 *            The ambiguous result.
+	 * @return The full path of the chosen file, or <code>null</code> if the
+	 *         user canceled.
 	 */
-	private static IFile evaluateMostLikelyFile(Map<IFile, Integer> filePathIdentitiesMap) {
-		IFile mostLikelyFile = null;
-		int mostLikelyFileDeep = 0;
-		Set<IFile> keySet = filePathIdentitiesMap.keySet();
-		for (Iterator<IFile> iterator = keySet.iterator(); iterator.hasNext();) {
-			IFile file = iterator.next();
-			int deep = filePathIdentitiesMap.get(file);
-			if (deep > mostLikelyFileDeep) {
-				mostLikelyFileDeep = deep;
-				mostLikelyFile = file;
+	private static IPath chooseCandidate(final ResolutionResult result) {
+		final IPath[] chosen = new IPath[1];
+		Display.getDefault().syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				ElementListSelectionDialog dialog = new ElementListSelectionDialog(Display.getDefault().getActiveShell(), new LabelProvider() {
+
+					@Override
+					public String getText(Object element) {
+						ResolutionCandidate candidate = (ResolutionCandidate) element;
+						return candidate.getPath() + " (" + candidate.getDepth() + " matching segments)";
+					}
+				});
+				dialog.setTitle("Open Workspace File");
+				dialog.setMessage("Several files match " + result.getRepositoryPath() + ".\nChoose the file to open (the choice is remembered):");
+				dialog.setElements(result.getCandidates().toArray());
+				dialog.setInitialSelections(new Object[] { result.getBest() });
+				dialog.setMultipleSelection(false);
+				if (dialog.open() == Window.OK) {
+					chosen[0] = ((ResolutionCandidate) dialog.getFirstResult()).getPath();
+				}
 			}
+		});
+		return chosen[0];
+	}
+
+	/**
+	 * Returns the workspace file with the given full path.
+	 * 
+	 * @param path
+	 *            The full path.
+	 * @return The file handle.
+	 */
+	private static IFile getFile(IPath path) {
+		return ResourcesPlugin.getWorkspace().getRoot().getFile(path);
+	}
+
+	/**
+	 * A found region together with its text.
+	 */
+	private static class FoundText {
+
+		/**
+		 * The region in the document.
+		 */
+		private final IRegion region;
+
+		/**
+		 * The text of the region.
+		 */
+		private final String text;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param region
+		 *            The region in the document.
+		 * @param text
+		 *            The text of the region.
+		 */
+		FoundText(IRegion region, String text) {
+			this.region = region;
+			this.text = text;
 		}
-		return mostLikelyFile;
 	}
 
 }
@@ -0,0 +1,241 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.ide.IDE;
+
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.preferences.PreferenceConstants;
+
+/**
+ * Job to resolve and open the workspace files of several repository paths at
+ * once. All paths are resolved against the same workspace file index and the
+ * editors are opened in a single run of the UI thread. Files already known in
+ * the workspace and the compared revisions of the repository paths can be
+ * added before the job is scheduled.
+ *
+ * @author funhoff
+ */
+public class OpenWorkspaceFilesJob extends Job {
+
+	/**
+	 * The active page.
+	 */
+	private final IWorkbenchPage activePage;
+
+	/**
+	 * The workspace files to open.
+	 */
+	private final Set<IFile> workspaceFiles = new LinkedHashSet<IFile>();
+
+	/**
+	 * The repository paths of the files to open.
+	 */
+	private final Set<String> repositoryPaths = new LinkedHashSet<String>();
+
+	/**
+	 * The compared revisions by repository path.
+	 */
+	private final Map<String, ITypedElement> revisions = new HashMap<String, ITypedElement>();
+
+	/**
+	 * Identifiers of the compared revisions by repository path.
+	 */
+	private final Map<String, String> revisionIds = new HashMap<String, String>();
+
+	/**
+	 * Constructor. The files to open are added by {@link #addFile(IFile)} and
+	 * {@link #addRepositoryPath(String, ITypedElement, String)}.
+	 *
+	 * @param activePage
+	 *            The active page.
+	 * @since Creation date: 17.10.2026
+	 */
+	public OpenWorkspaceFilesJob(IWorkbenchPage activePage) {
+		super("Opening workspace files");
+		Validate.notNull(activePage);
+		this.activePage = activePage;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param activePage
+	 *            The active page.
+	 * @param repositoryPaths
+	 *            The repository paths of the files to open.
+	 * @since Creation date: 17.10.2026
+	 */
+	public OpenWorkspaceFilesJob(IWorkbenchPage activePage, List<String> repositoryPaths) {
+		this(activePage);
+		Validate.notEmpty(repositoryPaths);
+		this.repositoryPaths.addAll(repositoryPaths);
+	}
+
+	/**
+	 * Adds a file of the workspace to open. Must be called before the job is
+	 * scheduled.
+	 *
+	 * @param file
+	 *            The file.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void addFile(IFile file) {
+		Validate.notNull(file);
+		workspaceFiles.add(file);
+	}
+
+	/**
+	 * Adds the repository path of a file to open. Must be called before the
+	 * job is scheduled.
+	 *
+	 * @param repositoryPath
+	 *            The repository path of the file.
+	 * @param revision
+	 *            The compared revision of the file, to choose among equally
+	 *            good workspace files by their content. Can be
+	 *            <code>null</code>.
+	 * @param revisionId
+	 *            Identifier of the revision. Can be <code>null</code> if no
+	 *            revision is given.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void addRepositoryPath(String repositoryPath, ITypedElement revision, String revisionId) {
+		Validate.notEmpty(repositoryPath);
+		repositoryPaths.add(repositoryPath);
+		if (revision != null) {
+			Validate.notEmpty(revisionId);
+			revisions.put(repositoryPath, revision);
+			revisionIds.put(repositoryPath, revisionId);
+		}
+	}
+
+	/**
+	 * Returns the number of added files and repository paths.
+	 *
+	 * @return The number of files to open, before resolving and removing
+	 *         duplicates.
+	 * @since Creation date: 17.10.2026
+	 */
+	public int getFileCount() {
+		return workspaceFiles.size() + repositoryPaths.size();
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		int maxFiles = Activator.getDefault().getPreferenceStore().getInt(PreferenceConstants.MAX_BATCH_OPEN_FILES);
+		SubMonitor progress = SubMonitor.convert(monitor, "Resolving workspace files", repositoryPaths.size() + 1);
+		final Set<IFile> files = new LinkedHashSet<IFile>();
+		final List<String> notFoundPaths = new ArrayList<String>();
+		int skippedCount = 0;
+		for (IFile workspaceFile : workspaceFiles) {
+			if (!workspaceFile.exists()) {
+				notFoundPaths.add(workspaceFile.getFullPath().toString());
+			}
+			else if (files.size() < maxFiles) {
+				files.add(workspaceFile);
+			}
+			else {
+				skippedCount++;
+			}
+		}
+		try {
+			// without the index, e.g. if its build failed, the paths are searched for one by one
+			Activator.getDefault().awaitStartup();
+			Activator.getDefault().getWorkspaceFileIndex().ensureBuilt(progress.newChild(1));
+			for (String repositoryPath : repositoryPaths) {
+				if (progress.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				progress.subTask(repositoryPath);
+				IFile file = OpenWorkspaceFileHelper.getWorkspaceFile(repositoryPath, revisions.get(repositoryPath), revisionIds.get(repositoryPath), false, progress.newChild(1));
+				if (file == null) {
+					notFoundPaths.add(repositoryPath);
+				}
+				else if (files.size() < maxFiles || files.contains(file)) {
+					files.add(file);
+				}
+				else {
+					skippedCount++;
+				}
+			}
+		}
+		catch (OperationCanceledException e) {
+			return Status.CANCEL_STATUS;
+		}
+		finally {
+			monitor.done();
+		}
+
+		final int skipped = skippedCount;
+		UIThreadBatch.enqueue(this, new Runnable() {
+
+			@Override
+			public void run() {
+				openEditors(files, notFoundPaths, skipped);
+			}
+		});
+		return Status.OK_STATUS;
+	}
+
+	@Override
+	public boolean belongsTo(Object family) {
+		return family == SearchAndOpenFileInWorkspaceJob.FAMILY;
+	}
+
+	/**
+	 * Opens the editors of the given files and informs the user about files
+	 * not found or not opened. Must be called in the UI thread.
+	 *
+	 * @param files
+	 *            The files to open.
+	 * @param notFoundPaths
+	 *            The repository paths without workspace file.
+	 * @param skippedCount
+	 *            The number of files not opened because of the limit.
+	 */
+	private void openEditors(Set<IFile> files, List<String> notFoundPaths, int skippedCount) {
+		boolean first = true;
+		for (IFile file : files) {
+			try {
+				IDE.openEditor(activePage, file, first);
+				first = false;
+			}
+			catch (PartInitException e) {
+				OpenWorkspaceFileHelper.showAndLogErrorMessage("The editor could not be openend.", e);
+			}
+		}
+		if (!notFoundPaths.isEmpty() || skippedCount > 0) {
+			StringBuilder message = new StringBuilder();
+			if (skippedCount > 0) {
+				message.append(skippedCount).append(" further files have not been opened because of the limit of ").append(files.size()).append(" files.\n");
+			}
+			if (!notFoundPaths.isEmpty()) {
+				message.append("No workspace file found for:");
+				for (String notFoundPath : notFoundPaths) {
+					message.append("\n").append(notFoundPath);
+				}
+			}
+			MessageDialog.openInformation(Display.getDefault().getActiveShell(), "Opening workspace files", message.toString());
+		}
+	}
+
+}
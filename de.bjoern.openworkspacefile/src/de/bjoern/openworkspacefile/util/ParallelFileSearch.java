@@ -0,0 +1,279 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Searches the workspace file of a repository path without the
+ * {@link WorkspaceFileIndex}, e.g. while the index is being built. The open
+ * projects and their top level folders of a {@link WorkspaceView} are visited
+ * in parallel. The search stops as soon as a file matches
+ * completely. The result follows the rules of
+ * {@link ReversePathTrie#lookup(String[])}.
+ *
+ * @author funhoff
+ */
+public class ParallelFileSearch {
+
+	/**
+	 * Timeout in milliseconds to wait for a task before checking the progress
+	 * monitor.
+	 */
+	private static final long POLL_TIMEOUT = 100;
+
+	/**
+	 * Executor shared by all searches. Its threads terminate when idle.
+	 */
+	private static final ThreadPoolExecutor EXECUTOR;
+
+	static {
+		int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+		EXECUTOR = new ThreadPoolExecutor(threadCount, threadCount, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+			private final AtomicInteger threadNumber = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Open Workspace File search " + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * The view of the workspace to search.
+	 */
+	private final WorkspaceView view;
+
+	/**
+	 * The name of the file to search.
+	 */
+	private final String fileName;
+
+	/**
+	 * <code>true</code> if file names and segments are compared ignoring case.
+	 */
+	private final boolean ignoreCase;
+
+	/**
+	 * Scorer of the candidates. Guarded by itself.
+	 */
+	private final PathSuffixScorer scorer;
+
+	/**
+	 * <code>true</code> if the search should stop, either because of a complete
+	 * match or because it has been canceled.
+	 */
+	private volatile boolean done = false;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param view
+	 *            The view of the workspace to search.
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param ignoreCase
+	 *            <code>true</code> to compare ignoring case.
+	 */
+	private ParallelFileSearch(WorkspaceView view, String repositoryPath, boolean ignoreCase) {
+		this.view = view;
+		this.ignoreCase = ignoreCase;
+		int end = repositoryPath.length();
+		while (end > 0 && repositoryPath.startsWith(PathSuffixScorer.PATH_SEPARATOR, end - 1)) {
+			end--;
+		}
+		int start = repositoryPath.lastIndexOf(PathSuffixScorer.PATH_SEPARATOR, end - 1) + 1;
+		this.fileName = end > 0 ? repositoryPath.substring(start, end) : null;
+		this.scorer = new PathSuffixScorer(repositoryPath, ignoreCase);
+	}
+
+	/**
+	 * Returns the file of the given workspace view with the longest path
+	 * suffix in common with the given repository path by visiting all open
+	 * projects in parallel.
+	 *
+	 * @param view
+	 *            The view of the workspace to search.
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The best match, or <code>null</code> if no file has the same
+	 *         name.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static ReversePathTrie.Match search(WorkspaceView view, String repositoryPath, IProgressMonitor monitor) {
+		return search(view, repositoryPath, false, monitor);
+	}
+
+	/**
+	 * Returns the file of the given workspace view with the longest path
+	 * suffix in common with the given repository path by visiting all open
+	 * projects in parallel.
+	 *
+	 * @param view
+	 *            The view of the workspace to search.
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param ignoreCase
+	 *            <code>true</code> to compare file names and segments
+	 *            ignoring case.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return The best match, or <code>null</code> if no file has the same
+	 *         name.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static ReversePathTrie.Match search(WorkspaceView view, String repositoryPath, boolean ignoreCase, IProgressMonitor monitor) {
+		Validate.notNull(view);
+		Validate.notEmpty(repositoryPath);
+		ParallelFileSearch search = new ParallelFileSearch(view, repositoryPath, ignoreCase);
+		if (search.fileName == null) {
+			return null;
+		}
+		return search.run(monitor != null ? monitor : new NullProgressMonitor());
+	}
+
+	/**
+	 * Returns the executor shared by all searches, so other parallel work of
+	 * the plug-in doesn't start threads of its own.
+	 *
+	 * @return The executor.
+	 */
+	static ExecutorService getExecutor() {
+		return EXECUTOR;
+	}
+
+	/**
+	 * Submits one task per top level container and waits for all of them or
+	 * for a complete match.
+	 *
+	 * @param monitor
+	 *            The progress monitor.
+	 * @return The best match, or <code>null</code> if none.
+	 */
+	private ReversePathTrie.Match run(IProgressMonitor monitor) {
+		CompletionService<Void> completionService = new ExecutorCompletionService<Void>(EXECUTOR);
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		for (String projectName : view.getOpenProjectNames()) {
+			futures.add(completionService.submit(createTask(Path.ROOT.append(projectName), false)));
+			for (IPath folderPath : view.getTopLevelFolders(projectName)) {
+				futures.add(completionService.submit(createTask(folderPath, true)));
+			}
+		}
+		monitor.beginTask("Searching workspace files", futures.size());
+		try {
+			int remaining = futures.size();
+			while (remaining > 0 && !done) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				Future<Void> future = completionService.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				if (future != null) {
+					remaining--;
+					monitor.worked(1);
+					try {
+						future.get();
+					}
+					catch (ExecutionException e) {
+						throw new IllegalStateException("The workspace files could not be searched", e.getCause());
+					}
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		finally {
+			done = true;
+			for (Future<Void> future : futures) {
+				future.cancel(false);
+			}
+			monitor.done();
+		}
+		synchronized (scorer) {
+			IPath bestPath = scorer.getBestPath();
+			return bestPath != null ? new ReversePathTrie.Match(bestPath, scorer.getBestDepth()) : null;
+		}
+	}
+
+	/**
+	 * Creates the task visiting the given container.
+	 *
+	 * @param containerPath
+	 *            The full path of the container to visit.
+	 * @param recursive
+	 *            <code>true</code> to visit the sub folders as well.
+	 * @return The task.
+	 */
+	private Callable<Void> createTask(final IPath containerPath, final boolean recursive) {
+		return new Callable<Void>() {
+
+			@Override
+			public Void call() {
+				view.visitFiles(containerPath, recursive, new WorkspaceView.FileVisitor() {
+
+					@Override
+					public boolean isDone() {
+						return done;
+					}
+
+					@Override
+					public boolean acceptName(String name) {
+						return !done && (ignoreCase ? fileName.equalsIgnoreCase(name) : fileName.equals(name));
+					}
+
+					@Override
+					public void visitFile(IPath fullPath) {
+						offer(fullPath);
+					}
+				});
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Offers a file with the searched name as candidate. Ends the search if the
+	 * file matches completely.
+	 *
+	 * @param path
+	 *            The full path of the file.
+	 */
+	private void offer(IPath path) {
+		boolean complete;
+		synchronized (scorer) {
+			complete = scorer.offer(path);
+		}
+		if (complete) {
+			done = true;
+		}
+	}
+
+}
@@ -0,0 +1,216 @@
+package de.bjoern.openworkspacefile.util;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Scores candidate files by the number of trailing path segments they have in
+ * common with a repository path and keeps the best candidate. Candidates are
+ * compared backwards segment by segment against the repository path string,
+ * without splitting or copying either path.
+ * <p>
+ * A candidate matching with all its segments is preferred over a deeper
+ * partial match. Otherwise the deepest match wins, then the shortest path,
+ * then the lexical order of the segments. The result does not depend on the
+ * order the candidates are offered in.
+ *
+ * @author funhoff
+ */
+public class PathSuffixScorer {
+
+	/**
+	 * Separator of the segments of a repository path.
+	 */
+	public static final String PATH_SEPARATOR = "/";
+
+	/**
+	 * The path or URI of the repository source.
+	 */
+	private final String repositoryPath;
+
+	/**
+	 * <code>true</code> if segments are compared ignoring case.
+	 */
+	private final boolean ignoreCase;
+
+	/**
+	 * The best candidate so far. <code>null</code> if none.
+	 */
+	private IPath bestPath;
+
+	/**
+	 * The number of matching trailing segments of the best candidate.
+	 */
+	private int bestDepth;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @since Creation date: 17.10.2026
+	 */
+	public PathSuffixScorer(String repositoryPath) {
+		this(repositoryPath, false);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param ignoreCase
+	 *            <code>true</code> to compare segments ignoring case.
+	 * @since Creation date: 17.10.2026
+	 */
+	public PathSuffixScorer(String repositoryPath, boolean ignoreCase) {
+		Validate.notEmpty(repositoryPath);
+		this.repositoryPath = repositoryPath;
+		this.ignoreCase = ignoreCase;
+	}
+
+	/**
+	 * Offers a candidate and keeps it if it is better than the best candidate
+	 * so far.
+	 *
+	 * @param path
+	 *            The full path of the candidate.
+	 * @return <code>true</code> if the candidate matches with all its
+	 *         segments, so the caller can stop offering candidates.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean offer(IPath path) {
+		int depth = countMatchingSegments(repositoryPath, path, ignoreCase);
+		boolean complete = depth == path.segmentCount();
+		if (bestPath == null || isBetter(path, depth, complete)) {
+			bestPath = path;
+			bestDepth = depth;
+		}
+		return complete;
+	}
+
+	/**
+	 * Returns the best candidate so far.
+	 *
+	 * @return The full path of the best candidate, or <code>null</code> if
+	 *         none has been offered.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IPath getBestPath() {
+		return bestPath;
+	}
+
+	/**
+	 * Returns the number of matching trailing segments of the best candidate.
+	 *
+	 * @return The match depth, <code>0</code> if none has been offered.
+	 * @since Creation date: 17.10.2026
+	 */
+	public int getBestDepth() {
+		return bestDepth;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given candidate is better than the best
+	 * candidate so far.
+	 *
+	 * @param path
+	 *            The full path of the candidate.
+	 * @param depth
+	 *            The number of matching trailing segments of the candidate.
+	 * @param complete
+	 *            <code>true</code> if the candidate matches with all its
+	 *            segments.
+	 * @return <code>true</code> if the candidate is better.
+	 */
+	private boolean isBetter(IPath path, int depth, boolean complete) {
+		boolean bestComplete = bestDepth == bestPath.segmentCount();
+		if (complete != bestComplete) {
+			return complete;
+		}
+		if (depth != bestDepth) {
+			return depth > bestDepth;
+		}
+		return compare(path, bestPath) < 0;
+	}
+
+	/**
+	 * Returns the number of trailing segments the given repository path and
+	 * file path have in common. Empty segments of the repository path are
+	 * ignored. Allocates no objects.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param path
+	 *            The file path.
+	 * @return The number of matching trailing segments.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static int countMatchingSegments(String repositoryPath, IPath path) {
+		return countMatchingSegments(repositoryPath, path, false);
+	}
+
+	/**
+	 * Returns the number of trailing segments the given repository path and
+	 * file path have in common. Empty segments of the repository path are
+	 * ignored. Allocates no objects.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @param path
+	 *            The file path.
+	 * @param ignoreCase
+	 *            <code>true</code> to compare segments ignoring case.
+	 * @return The number of matching trailing segments.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static int countMatchingSegments(String repositoryPath, IPath path, boolean ignoreCase) {
+		char separator = PATH_SEPARATOR.charAt(0);
+		int depth = 0;
+		int segmentIndex = path.segmentCount() - 1;
+		int end = repositoryPath.length();
+		while (segmentIndex >= 0 && end > 0) {
+			int start = repositoryPath.lastIndexOf(separator, end - 1) + 1;
+			if (start == end) {
+				// empty segment
+				end--;
+				continue;
+			}
+			String segment = path.segment(segmentIndex);
+			if (segment.length() != end - start || !repositoryPath.regionMatches(ignoreCase, start, segment, 0, segment.length())) {
+				break;
+			}
+			depth++;
+			segmentIndex--;
+			end = start - 1;
+		}
+		return depth;
+	}
+
+	/**
+	 * Compares two paths: the path with fewer segments comes first, paths with
+	 * the same number of segments are ordered lexically segment by segment.
+	 *
+	 * @param path
+	 *            The first path.
+	 * @param other
+	 *            The second path.
+	 * @return A negative number, zero or a positive number if the first path
+	 *         comes before, equal to or after the second path.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static int compare(IPath path, IPath other) {
+		int segmentCount = path.segmentCount();
+		if (segmentCount != other.segmentCount()) {
+			return segmentCount < other.segmentCount() ? -1 : 1;
+		}
+		for (int i = 0; i < segmentCount; i++) {
+			int result = path.segment(i).compareTo(other.segment(i));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+}
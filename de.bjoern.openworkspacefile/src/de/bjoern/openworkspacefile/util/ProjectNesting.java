@@ -0,0 +1,134 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Nesting of the projects and linked folders by their file system locations,
+ * e.g. Maven modules located inside their aggregate project. Chooses the
+ * canonical full path of a file reachable by several containers without
+ * asking the workspace for all files of a location. Immutable.
+ *
+ * @author funhoff
+ */
+public class ProjectNesting {
+
+	/**
+	 * Locations by full path of the container.
+	 */
+	private final Map<IPath, IPath> locations = new HashMap<IPath, IPath>();
+
+	/**
+	 * Full paths of the containers by location, shortest path first.
+	 */
+	private final Map<IPath, List<IPath>> containers = new HashMap<IPath, List<IPath>>();
+
+	/**
+	 * The largest number of segments of a container full path.
+	 */
+	private int maxContainerDepth;
+
+	/**
+	 * The smallest number of segments of a container location.
+	 */
+	private int minLocationDepth = Integer.MAX_VALUE;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param containerLocations
+	 *            File system locations by full path of the open projects and
+	 *            linked folders.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ProjectNesting(Map<IPath, IPath> containerLocations) {
+		for (Map.Entry<IPath, IPath> entry : containerLocations.entrySet()) {
+			IPath containerPath = entry.getKey();
+			IPath location = entry.getValue();
+			locations.put(containerPath, location);
+			List<IPath> containerPaths = containers.get(location);
+			if (containerPaths == null) {
+				containerPaths = new ArrayList<IPath>(1);
+				containers.put(location, containerPaths);
+			}
+			containerPaths.add(containerPath);
+			maxContainerDepth = Math.max(maxContainerDepth, containerPath.segmentCount());
+			minLocationDepth = Math.min(minLocationDepth, location.segmentCount());
+		}
+		Comparator<IPath> shortestFirst = new Comparator<IPath>() {
+
+			@Override
+			public int compare(IPath path1, IPath path2) {
+				return PathSuffixScorer.compare(path1, path2);
+			}
+		};
+		for (List<IPath> containerPaths : containers.values()) {
+			Collections.sort(containerPaths, shortestFirst);
+		}
+	}
+
+	/**
+	 * Returns the full path of the given file in the innermost or outermost
+	 * project whose location contains the file. Linked folders are only
+	 * chosen if no project contains the file. The cost depends on the depth
+	 * of the file, but not on the number of projects.
+	 *
+	 * @param filePath
+	 *            The full path of a file.
+	 * @param innermost
+	 *            <code>true</code> to prefer the innermost container, e.g. a
+	 *            module, <code>false</code> to prefer the outermost one, e.g.
+	 *            the aggregate project.
+	 * @return The canonical full path, or the given one if the location of
+	 *         the file is unknown.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IPath getCanonicalPath(IPath filePath, boolean innermost) {
+		IPath location = getLocation(filePath);
+		if (location == null) {
+			return filePath;
+		}
+		IPath linkedFolderPath = null;
+		int fileDepth = location.segmentCount();
+		for (int i = minLocationDepth; i < fileDepth; i++) {
+			int depth = innermost ? fileDepth - 1 - (i - minLocationDepth) : i;
+			List<IPath> containerPaths = containers.get(location.uptoSegment(depth));
+			if (containerPaths == null) {
+				continue;
+			}
+			IPath path = containerPaths.get(0).append(location.removeFirstSegments(depth).setDevice(null));
+			if (containerPaths.get(0).segmentCount() == 1) {
+				return path;
+			}
+			if (linkedFolderPath == null) {
+				linkedFolderPath = path;
+			}
+		}
+		return linkedFolderPath != null ? linkedFolderPath : filePath;
+	}
+
+	/**
+	 * Returns the file system location of the given file by its deepest
+	 * container.
+	 *
+	 * @param filePath
+	 *            The full path of a file.
+	 * @return The location, or <code>null</code> if no container is known.
+	 */
+	private IPath getLocation(IPath filePath) {
+		for (int depth = Math.min(maxContainerDepth, filePath.segmentCount() - 1); depth > 0; depth--) {
+			IPath location = locations.get(filePath.uptoSegment(depth));
+			if (location != null) {
+				return location.append(filePath.removeFirstSegments(depth));
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,125 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import de.bjoern.openworkspacefile.Activator;
+
+/**
+ * Keeps the {@link ProjectNesting} of the open projects and their top level
+ * linked folders up to date. The nesting is computed on first use and
+ * discarded whenever a project is added, removed, opened, closed, moved or
+ * gets another description, or a linked folder is added or removed.
+ *
+ * @author funhoff
+ */
+public class ProjectNestingTracker implements IResourceChangeListener {
+
+	/**
+	 * Flags of project deltas which may change the nesting.
+	 */
+	private static final int PROJECT_FLAGS = IResourceDelta.OPEN | IResourceDelta.DESCRIPTION | IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO;
+
+	/**
+	 * The current nesting. <code>null</code> if it has to be computed.
+	 */
+	private volatile ProjectNesting nesting;
+
+	/**
+	 * Number of changes affecting the nesting, so a nesting computed during a
+	 * change is not kept.
+	 */
+	private volatile int changeCount;
+
+	/**
+	 * Returns the current nesting, computing it if necessary.
+	 *
+	 * @return The project nesting.
+	 * @since Creation date: 17.10.2026
+	 */
+	public ProjectNesting getNesting() {
+		ProjectNesting currentNesting = nesting;
+		if (currentNesting == null) {
+			int computedChangeCount = changeCount;
+			currentNesting = computeNesting();
+			synchronized (this) {
+				if (computedChangeCount == changeCount) {
+					nesting = currentNesting;
+				}
+			}
+		}
+		return currentNesting;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta != null && affectsNesting(delta)) {
+			synchronized (this) {
+				changeCount++;
+				nesting = null;
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the given workspace delta may change the
+	 * nesting.
+	 *
+	 * @param rootDelta
+	 *            The delta of the workspace root.
+	 * @return <code>true</code> if the nesting has to be computed again.
+	 */
+	private static boolean affectsNesting(IResourceDelta rootDelta) {
+		for (IResourceDelta projectDelta : rootDelta.getAffectedChildren()) {
+			if (projectDelta.getKind() != IResourceDelta.CHANGED || (projectDelta.getFlags() & PROJECT_FLAGS) != 0) {
+				return true;
+			}
+			for (IResourceDelta memberDelta : projectDelta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED)) {
+				if (memberDelta.getResource().isLinked()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the nesting of the open projects and their top level linked
+	 * folders.
+	 *
+	 * @return The nesting.
+	 */
+	private static ProjectNesting computeNesting() {
+		Map<IPath, IPath> locations = new HashMap<IPath, IPath>();
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			if (!project.isOpen() || project.getLocation() == null) {
+				continue;
+			}
+			locations.put(project.getFullPath(), project.getLocation());
+			try {
+				for (IResource member : project.members()) {
+					if (member.getType() == IResource.FOLDER && member.isLinked() && member.getLocation() != null) {
+						locations.put(member.getFullPath(), member.getLocation());
+					}
+				}
+			}
+			catch (CoreException e) {
+				Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The linked folders of " + project.getName() + " could not be read", e));
+			}
+		}
+		return new ProjectNesting(locations);
+	}
+
+}
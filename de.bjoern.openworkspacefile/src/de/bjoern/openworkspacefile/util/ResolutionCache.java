@@ -0,0 +1,372 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import de.bjoern.openworkspacefile.Activator;
+
+/**
+ * Bounded LRU cache of resolved workspace files by repository path, e.g. the
+ * SVN URL or the EGit path. Paths relative to a repository, like the EGit
+ * ones, are cached together with the identity of their repository, so equal
+ * paths of different repositories don't share an entry. Entries are
+ * invalidated by resource changes:
+ * <ul>
+ * <li>the resolved file is removed or moved,</li>
+ * <li>the project of the resolved file is closed or deleted,</li>
+ * <li>a file is added, e.g. by opening a project, which matches the
+ * repository path at least as deep as the resolved file.</li>
+ * </ul>
+ *
+ * @author funhoff
+ */
+public class ResolutionCache implements IResourceChangeListener {
+
+	/**
+	 * Maximum number of cached entries.
+	 */
+	private static final int MAX_SIZE = 256;
+
+	/**
+	 * A resolved file and the number of matching trailing path segments.
+	 */
+	private static class Entry {
+
+		/**
+		 * The repository path.
+		 */
+		private final String repositoryPath;
+
+		/**
+		 * Identity of the repository of a relative repository path, or
+		 * <code>null</code>.
+		 */
+		private final String repositoryRoot;
+
+		/**
+		 * Full path of the resolved file.
+		 */
+		private final IPath path;
+
+		/**
+		 * Number of trailing segments the file has in common with the
+		 * repository path.
+		 */
+		private final int depth;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param repositoryPath
+		 *            The repository path.
+		 * @param repositoryRoot
+		 *            Identity of the repository of a relative repository
+		 *            path, or <code>null</code>.
+		 * @param path
+		 *            Full path of the resolved file.
+		 * @param depth
+		 *            Number of matching trailing segments.
+		 */
+		Entry(String repositoryPath, String repositoryRoot, IPath path, int depth) {
+			this.repositoryPath = repositoryPath;
+			this.repositoryRoot = repositoryRoot;
+			this.path = path;
+			this.depth = depth;
+		}
+	}
+
+	/**
+	 * Cached entries by repository root and path, in access order.
+	 */
+	private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Number of lookups answered from the cache.
+	 */
+	private long hitCount = 0;
+
+	/**
+	 * Number of lookups not answered from the cache.
+	 */
+	private long missCount = 0;
+
+	/**
+	 * Returns the cached file of the given repository path. An entry whose
+	 * file no longer exists is removed and counts as a miss.
+	 *
+	 * @param repositoryPath
+	 *            The repository path.
+	 * @param repositoryRoot
+	 *            Identity of the repository if the path is relative to it,
+	 *            e.g. its Git directory. <code>null</code> if the path
+	 *            identifies the file by itself, like an SVN URL.
+	 * @return The cached existing file, or <code>null</code> if not cached.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IFile get(String repositoryPath, String repositoryRoot) {
+		String key = createKey(repositoryPath, repositoryRoot);
+		Entry entry;
+		synchronized (this) {
+			entry = entries.get(key);
+			if (entry == null) {
+				missCount++;
+				return null;
+			}
+		}
+		IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(entry.path);
+		boolean exists = file.exists();
+		synchronized (this) {
+			if (exists) {
+				hitCount++;
+				return file;
+			}
+			if (entries.get(key) == entry) {
+				entries.remove(key);
+			}
+			missCount++;
+			return null;
+		}
+	}
+
+	/**
+	 * Caches the given file for the given repository path.
+	 *
+	 * @param repositoryPath
+	 *            The repository path.
+	 * @param repositoryRoot
+	 *            Identity of the repository if the path is relative to it,
+	 *            or <code>null</code>, see {@link #get(String, String)}.
+	 * @param file
+	 *            The resolved file.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void put(String repositoryPath, String repositoryRoot, IFile file) {
+		Validate.notEmpty(repositoryPath);
+		Validate.notNull(file);
+		IPath path = file.getFullPath();
+		int depth = PathSuffixScorer.countMatchingSegments(repositoryPath, path);
+		synchronized (this) {
+			entries.put(createKey(repositoryPath, repositoryRoot), new Entry(repositoryPath, repositoryRoot, path, depth));
+		}
+	}
+
+	/**
+	 * Removes the entries of the given repository, e.g. because the mapping
+	 * of its projects changed.
+	 *
+	 * @param repositoryRoot
+	 *            Identity of the repository, as given to
+	 *            {@link #put(String, String, IFile)}.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized void invalidateRepository(String repositoryRoot) {
+		Validate.notEmpty(repositoryRoot);
+		for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+			if (repositoryRoot.equals(iterator.next().repositoryRoot)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache.
+	 *
+	 * @return The hit count.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of lookups not answered from the cache.
+	 *
+	 * @return The miss count.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null || isEmpty()) {
+			return;
+		}
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+
+				@Override
+				public boolean visit(IResourceDelta childDelta) throws CoreException {
+					return handleDelta(childDelta);
+				}
+			});
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The resolution cache could not be updated", e));
+			clear();
+		}
+	}
+
+	/**
+	 * Invalidates the entries affected by the given delta.
+	 *
+	 * @param delta
+	 *            The delta.
+	 * @return <code>true</code> if the children of the delta should be
+	 *         visited.
+	 * @throws CoreException
+	 *             If an opened project could not be visited.
+	 */
+	private boolean handleDelta(IResourceDelta delta) throws CoreException {
+		IResource resource = delta.getResource();
+		switch (resource.getType()) {
+			case IResource.FILE:
+				if (delta.getKind() == IResourceDelta.ADDED) {
+					fileAdded(resource.getFullPath());
+				}
+				else if (delta.getKind() == IResourceDelta.REMOVED) {
+					fileRemoved(resource.getFullPath());
+				}
+				return false;
+			case IResource.PROJECT:
+				IProject project = (IProject) resource;
+				if (delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+					projectRemoved(project.getName());
+					if (project.isOpen()) {
+						projectOpened(project);
+					}
+					return false;
+				}
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Invalidates the entries a file added to an opened project might be a
+	 * better match for.
+	 *
+	 * @param project
+	 *            The opened project.
+	 * @throws CoreException
+	 *             If the project could not be visited.
+	 */
+	private void projectOpened(IProject project) throws CoreException {
+		project.accept(new IResourceProxyVisitor() {
+
+			@Override
+			public boolean visit(IResourceProxy proxy) throws CoreException {
+				if (proxy.getType() == IResource.FILE) {
+					fileAdded(proxy.requestFullPath());
+					return false;
+				}
+				return !isEmpty();
+			}
+		}, IResource.NONE);
+	}
+
+	/**
+	 * Invalidates the entries the given added file matches at least as deep as
+	 * the cached file.
+	 *
+	 * @param path
+	 *            The full path of the added file.
+	 */
+	private synchronized void fileAdded(IPath path) {
+		String name = path.lastSegment();
+		for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			if (entry.repositoryPath.endsWith(name) && PathSuffixScorer.countMatchingSegments(entry.repositoryPath, path) >= entry.depth) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the entries resolved to the given file.
+	 *
+	 * @param path
+	 *            The full path of the removed file.
+	 */
+	private synchronized void fileRemoved(IPath path) {
+		for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+			if (iterator.next().path.equals(path)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the entries resolved to files of the given project.
+	 *
+	 * @param projectName
+	 *            The name of the closed or removed project.
+	 */
+	private synchronized void projectRemoved(String projectName) {
+		for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+			if (projectName.equals(iterator.next().path.segment(0))) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns the key of the given repository path.
+	 *
+	 * @param repositoryPath
+	 *            The repository path.
+	 * @param repositoryRoot
+	 *            Identity of the repository, or <code>null</code>.
+	 * @return The key of the entry.
+	 */
+	private static String createKey(String repositoryPath, String repositoryRoot) {
+		return repositoryRoot != null ? repositoryRoot + "|" + repositoryPath : repositoryPath;
+	}
+
+	/**
+	 * Returns <code>true</code> if nothing is cached.
+	 *
+	 * @return <code>true</code> if the cache is empty.
+	 */
+	private synchronized boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+}
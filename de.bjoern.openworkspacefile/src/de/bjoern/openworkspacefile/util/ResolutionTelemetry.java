@@ -0,0 +1,258 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters and histograms of the stages of resolving and opening workspace
+ * files, e.g. the latency of each resolution strategy, which strategy found
+ * the file and how many candidates have been scored. Recording is cheap
+ * enough to be always on. Thread safe.
+ *
+ * @author funhoff
+ */
+public final class ResolutionTelemetry {
+
+	/**
+	 * Unit of latencies.
+	 */
+	public static final String NANOSECONDS = "ns";
+
+	/**
+	 * Unit of counted things.
+	 */
+	public static final String COUNT = "count";
+
+	/**
+	 * Histograms by name.
+	 */
+	private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<String, Histogram>();
+
+	/**
+	 * Counters by name.
+	 */
+	private static final ConcurrentMap<String, AtomicLong> COUNTERS = new ConcurrentHashMap<String, AtomicLong>();
+
+	/**
+	 * Percentiles reported by the exports.
+	 */
+	private static final double[] PERCENTILES = { 50, 90, 99 };
+
+	/**
+	 * Private constructor.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	private ResolutionTelemetry() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Records the latency of the given stage.
+	 *
+	 * @param stage
+	 *            The name of the stage.
+	 * @param nanos
+	 *            The latency in nanoseconds.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void recordNanos(String stage, long nanos) {
+		getHistogram(stage, NANOSECONDS).record(nanos);
+	}
+
+	/**
+	 * Records a number of counted things, e.g. scored candidates.
+	 *
+	 * @param name
+	 *            The name of the histogram.
+	 * @param count
+	 *            The number.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void recordCount(String name, long count) {
+		getHistogram(name, COUNT).record(count);
+	}
+
+	/**
+	 * Increments the given counter.
+	 *
+	 * @param name
+	 *            The name of the counter.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void increment(String name) {
+		AtomicLong counter = COUNTERS.get(name);
+		if (counter == null) {
+			AtomicLong newCounter = new AtomicLong();
+			counter = COUNTERS.putIfAbsent(name, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		counter.incrementAndGet();
+	}
+
+	/**
+	 * Returns all histograms, sorted by name.
+	 *
+	 * @return The histograms.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static List<Histogram> getHistograms() {
+		List<Histogram> histograms = new ArrayList<Histogram>(HISTOGRAMS.values());
+		Collections.sort(histograms, new Comparator<Histogram>() {
+
+			@Override
+			public int compare(Histogram histogram1, Histogram histogram2) {
+				return histogram1.getName().compareTo(histogram2.getName());
+			}
+		});
+		return histograms;
+	}
+
+	/**
+	 * Returns the values of all counters, sorted by name.
+	 *
+	 * @return Counter values by name.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static Map<String, Long> getCounters() {
+		Map<String, Long> counters = new TreeMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> entry : COUNTERS.entrySet()) {
+			counters.put(entry.getKey(), entry.getValue().get());
+		}
+		return counters;
+	}
+
+	/**
+	 * Removes all recorded values and counts.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void reset() {
+		HISTOGRAMS.clear();
+		COUNTERS.clear();
+	}
+
+	/**
+	 * Returns all histograms and counters as CSV with a header line. Counters
+	 * have their value as count and no other columns.
+	 *
+	 * @return The CSV text.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static String toCsv() {
+		StringBuilder csv = new StringBuilder("name,unit,count,mean,p50,p90,p99,max\n");
+		for (Histogram histogram : getHistograms()) {
+			csv.append(quoteCsv(histogram.getName())).append(',').append(histogram.getUnit()).append(',').append(histogram.getCount()).append(',');
+			csv.append(String.format(Locale.ROOT, "%.1f", histogram.getMean()));
+			for (double percentile : PERCENTILES) {
+				csv.append(',').append(histogram.getValueAtPercentile(percentile));
+			}
+			csv.append(',').append(histogram.getMax()).append('\n');
+		}
+		for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+			csv.append(quoteCsv(counter.getKey())).append(',').append(COUNT).append(',').append(counter.getValue()).append(",,,,,\n");
+		}
+		return csv.toString();
+	}
+
+	/**
+	 * Returns all histograms and counters as JSON object with the members
+	 * <code>histograms</code> and <code>counters</code>.
+	 *
+	 * @return The JSON text.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static String toJson() {
+		StringBuilder json = new StringBuilder("{\n  \"histograms\": [");
+		String separator = "\n";
+		for (Histogram histogram : getHistograms()) {
+			json.append(separator).append("    {\"name\": ").append(quoteJson(histogram.getName()));
+			json.append(", \"unit\": ").append(quoteJson(histogram.getUnit()));
+			json.append(", \"count\": ").append(histogram.getCount());
+			json.append(", \"mean\": ").append(String.format(Locale.ROOT, "%.1f", histogram.getMean()));
+			for (double percentile : PERCENTILES) {
+				json.append(", \"p").append((int) percentile).append("\": ").append(histogram.getValueAtPercentile(percentile));
+			}
+			json.append(", \"max\": ").append(histogram.getMax()).append('}');
+			separator = ",\n";
+		}
+		json.append("\n  ],\n  \"counters\": {");
+		separator = "\n";
+		for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+			json.append(separator).append("    ").append(quoteJson(counter.getKey())).append(": ").append(counter.getValue());
+			separator = ",\n";
+		}
+		json.append("\n  }\n}\n");
+		return json.toString();
+	}
+
+	/**
+	 * Returns the histogram with the given name, creating it if necessary.
+	 *
+	 * @param name
+	 *            The name of the histogram.
+	 * @param unit
+	 *            The unit of a new histogram.
+	 * @return The histogram.
+	 */
+	private static Histogram getHistogram(String name, String unit) {
+		Histogram histogram = HISTOGRAMS.get(name);
+		if (histogram == null) {
+			Histogram newHistogram = new Histogram(name, unit);
+			histogram = HISTOGRAMS.putIfAbsent(name, newHistogram);
+			if (histogram == null) {
+				histogram = newHistogram;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Quotes the given value for CSV if necessary.
+	 *
+	 * @param value
+	 *            The value.
+	 * @return The CSV field.
+	 */
+	private static String quoteCsv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * Quotes the given value as JSON string.
+	 *
+	 * @param value
+	 *            The value.
+	 * @return The JSON string.
+	 */
+	private static String quoteJson(String value) {
+		StringBuilder quoted = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				quoted.append('\\').append(c);
+			}
+			else if (c < ' ') {
+				quoted.append(String.format("\\u%04x", (int) c));
+			}
+			else {
+				quoted.append(c);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+}
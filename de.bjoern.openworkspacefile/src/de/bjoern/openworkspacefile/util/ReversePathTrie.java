@@ -0,0 +1,565 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Trie over file paths keyed by the path segments in reverse order, the file
+ * name first. A single walk over the segments of a repository path returns
+ * the workspace file with the longest matching path suffix.
+ * <p>
+ * A node holding a single path that nobody else shares keeps that path as
+ * pending tail instead of expanding one node per remaining segment. The tail
+ * is expanded as soon as a second path passes the node.
+ * <p>
+ * The file names are also kept by their case folded form, so the paths of a
+ * name can be found ignoring case without visiting all paths, and the paths
+ * are kept by their first segment, so the paths of a project can be removed
+ * without visiting the others.
+ * <p>
+ * The trie is not thread safe.
+ *
+ * @author funhoff
+ */
+public class ReversePathTrie {
+
+	/**
+	 * Result of a lookup.
+	 */
+	public static class Match {
+
+		/**
+		 * The matched path.
+		 */
+		private final IPath path;
+
+		/**
+		 * The number of matching trailing segments.
+		 */
+		private final int depth;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param path
+		 *            The matched path.
+		 * @param depth
+		 *            The number of matching trailing segments.
+		 */
+		Match(IPath path, int depth) {
+			this.path = path;
+			this.depth = depth;
+		}
+
+		/**
+		 * Returns the matched path.
+		 *
+		 * @return The matched path.
+		 */
+		public IPath getPath() {
+			return path;
+		}
+
+		/**
+		 * Returns the number of matching trailing segments.
+		 *
+		 * @return The match depth.
+		 */
+		public int getDepth() {
+			return depth;
+		}
+
+		/**
+		 * Returns <code>true</code> if all segments of the matched path are a
+		 * suffix of the looked up path.
+		 *
+		 * @return <code>true</code> if the whole path matched.
+		 */
+		public boolean isComplete() {
+			return depth == path.segmentCount();
+		}
+	}
+
+	/**
+	 * Node of the trie.
+	 */
+	private static class Node {
+
+		/**
+		 * Child nodes by segment. <code>null</code> if there are none.
+		 */
+		private Map<String, Node> children;
+
+		/**
+		 * Path ending at this node.
+		 */
+		private IPath terminal;
+
+		/**
+		 * Single longer path passing this node, not yet expanded to child
+		 * nodes. Only set if there are no children.
+		 */
+		private IPath pending;
+
+		/**
+		 * Returns <code>true</code> if the node holds nothing.
+		 *
+		 * @return <code>true</code> if the node is empty.
+		 */
+		boolean isEmpty() {
+			return terminal == null && pending == null && (children == null || children.isEmpty());
+		}
+	}
+
+	/**
+	 * The root node.
+	 */
+	private final Node root = new Node();
+
+	/**
+	 * The number of paths.
+	 */
+	private int size = 0;
+
+	/**
+	 * The file names of the paths by their case folded form.
+	 */
+	private final Map<String, Set<String>> namesByFoldedName = new HashMap<String, Set<String>>();
+
+	/**
+	 * The paths by their first segment.
+	 */
+	private final Map<String, Set<IPath>> pathsByFirstSegment = new HashMap<String, Set<IPath>>();
+
+	/**
+	 * Returns the number of paths in the trie.
+	 *
+	 * @return The number of paths.
+	 * @since Creation date: 17.10.2026
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all paths.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	public void clear() {
+		root.children = null;
+		size = 0;
+		namesByFoldedName.clear();
+		pathsByFirstSegment.clear();
+	}
+
+	/**
+	 * Adds the given path.
+	 *
+	 * @param path
+	 *            The path to add.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void add(IPath path) {
+		if (path.segmentCount() == 0) {
+			return;
+		}
+		if (insert(root, 0, path)) {
+			size++;
+			String name = path.lastSegment();
+			String foldedName = fold(name);
+			Set<String> names = namesByFoldedName.get(foldedName);
+			if (names == null) {
+				names = new HashSet<String>(2);
+				namesByFoldedName.put(foldedName, names);
+			}
+			names.add(name);
+			Set<IPath> paths = pathsByFirstSegment.get(path.segment(0));
+			if (paths == null) {
+				paths = new HashSet<IPath>();
+				pathsByFirstSegment.put(path.segment(0), paths);
+			}
+			paths.add(path);
+		}
+	}
+
+	/**
+	 * Inserts the path below the given node.
+	 *
+	 * @param start
+	 *            The node to start at.
+	 * @param startDepth
+	 *            The number of segments consumed by the start node.
+	 * @param path
+	 *            The path to insert.
+	 * @return <code>true</code> if the path has not been in the trie before.
+	 */
+	private boolean insert(Node start, int startDepth, IPath path) {
+		int segmentCount = path.segmentCount();
+		Node node = start;
+		int depth = startDepth;
+		while (true) {
+			if (depth == segmentCount) {
+				boolean added = !path.equals(node.terminal);
+				node.terminal = path;
+				return added;
+			}
+			if (node != root && node.children == null) {
+				if (node.pending == null) {
+					node.pending = path;
+					return true;
+				}
+				if (node.pending.equals(path)) {
+					return false;
+				}
+				IPath pendingPath = node.pending;
+				node.pending = null;
+				insert(getOrCreateChild(node, segmentFromEnd(pendingPath, depth)), depth + 1, pendingPath);
+			}
+			node = getOrCreateChild(node, segmentFromEnd(path, depth));
+			depth++;
+		}
+	}
+
+	/**
+	 * Removes the given path.
+	 *
+	 * @param path
+	 *            The path to remove.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void remove(IPath path) {
+		if (path.segmentCount() == 0 || !removeFromTrie(path)) {
+			return;
+		}
+		Set<IPath> paths = pathsByFirstSegment.get(path.segment(0));
+		if (paths != null && paths.remove(path) && paths.isEmpty()) {
+			pathsByFirstSegment.remove(path.segment(0));
+		}
+	}
+
+	/**
+	 * Removes the given path from the nodes and the file names.
+	 *
+	 * @param path
+	 *            The path to remove.
+	 * @return <code>true</code> if the path has been in the trie.
+	 */
+	private boolean removeFromTrie(IPath path) {
+		int segmentCount = path.segmentCount();
+		List<Node> nodes = new ArrayList<Node>(segmentCount + 1);
+		Node node = root;
+		int depth = 0;
+		boolean removed = false;
+		while (node != null) {
+			nodes.add(node);
+			if (depth == segmentCount) {
+				if (path.equals(node.terminal)) {
+					node.terminal = null;
+					removed = true;
+				}
+				break;
+			}
+			if (path.equals(node.pending)) {
+				node.pending = null;
+				removed = true;
+				break;
+			}
+			node = node.children != null ? node.children.get(segmentFromEnd(path, depth)) : null;
+			depth++;
+		}
+		if (!removed) {
+			return false;
+		}
+		size--;
+		prune(nodes, path);
+		String name = path.lastSegment();
+		if (root.children == null || !root.children.containsKey(name)) {
+			String foldedName = fold(name);
+			Set<String> names = namesByFoldedName.get(foldedName);
+			if (names != null && names.remove(name) && names.isEmpty()) {
+				namesByFoldedName.remove(foldedName);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all paths starting with the given segment, e.g. all files of a
+	 * project. Only these paths are visited.
+	 *
+	 * @param firstSegment
+	 *            The first segment of the paths to remove.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void removeAllStartingWith(String firstSegment) {
+		Set<IPath> paths = pathsByFirstSegment.remove(firstSegment);
+		if (paths == null) {
+			return;
+		}
+		for (IPath path : paths) {
+			removeFromTrie(path);
+		}
+	}
+
+	/**
+	 * Removes empty nodes along the given node chain.
+	 *
+	 * @param nodes
+	 *            The nodes from the root to the last visited node.
+	 * @param path
+	 *            The removed path.
+	 */
+	private void prune(List<Node> nodes, IPath path) {
+		for (int i = nodes.size() - 1; i > 0; i--) {
+			Node node = nodes.get(i);
+			if (!node.isEmpty()) {
+				return;
+			}
+			nodes.get(i - 1).children.remove(segmentFromEnd(path, i - 1));
+		}
+	}
+
+	/**
+	 * Returns all paths ending with the given file name.
+	 *
+	 * @param name
+	 *            The file name.
+	 * @return The paths, never <code>null</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	public List<IPath> getPaths(String name) {
+		List<IPath> paths = new ArrayList<IPath>();
+		Node node = root.children != null ? root.children.get(name) : null;
+		if (node != null) {
+			collect(node, paths);
+		}
+		return paths;
+	}
+
+	/**
+	 * Returns all paths ending with the given file name, ignoring case.
+	 *
+	 * @param name
+	 *            The file name.
+	 * @return The paths, never <code>null</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	public List<IPath> getPathsIgnoreCase(String name) {
+		List<IPath> paths = new ArrayList<IPath>();
+		Set<String> names = namesByFoldedName.get(fold(name));
+		if (names != null) {
+			for (String exactName : names) {
+				collect(root.children.get(exactName), paths);
+			}
+		}
+		return paths;
+	}
+
+	/**
+	 * Returns all paths in the trie.
+	 *
+	 * @return The paths, never <code>null</code>.
+	 * @since Creation date: 17.10.2026
+	 */
+	public List<IPath> getPaths() {
+		List<IPath> paths = new ArrayList<IPath>(size);
+		collect(root, paths);
+		return paths;
+	}
+
+	/**
+	 * Returns the path with the longest suffix of the given segments. A path
+	 * matching completely is preferred over a deeper partial match. Partial
+	 * matches sharing the same depth are decided by the shortest path, then
+	 * by the lexical order.
+	 *
+	 * @param segments
+	 *            The segments of the path to look up. Empty segments are
+	 *            ignored.
+	 * @return The best match, or <code>null</code> if no path ends with the
+	 *         last segment.
+	 * @since Creation date: 17.10.2026
+	 */
+	public Match lookup(String[] segments) {
+		Node node = root;
+		int depth = 0;
+		Match completeMatch = null;
+		int i = segments.length - 1;
+		while (true) {
+			while (i >= 0 && segments[i].length() == 0) {
+				i--;
+			}
+			if (node.pending != null) {
+				IPath pendingPath = node.pending;
+				int pendingDepth = depth;
+				int j = i;
+				while (j >= 0 && pendingDepth < pendingPath.segmentCount()) {
+					if (segments[j].length() == 0) {
+						j--;
+						continue;
+					}
+					if (!segments[j].equals(segmentFromEnd(pendingPath, pendingDepth))) {
+						break;
+					}
+					pendingDepth++;
+					j--;
+				}
+				if (pendingDepth == pendingPath.segmentCount() || completeMatch == null) {
+					return new Match(pendingPath, pendingDepth);
+				}
+				return completeMatch;
+			}
+			Node child = (i >= 0 && node.children != null) ? node.children.get(segments[i]) : null;
+			if (child == null) {
+				break;
+			}
+			node = child;
+			depth++;
+			i--;
+			if (node.terminal != null) {
+				completeMatch = new Match(node.terminal, depth);
+			}
+		}
+		if (completeMatch != null) {
+			return completeMatch;
+		}
+		if (depth == 0) {
+			return null;
+		}
+		IPath shortest = findShortestPath(node, depth);
+		return shortest != null ? new Match(shortest, depth) : null;
+	}
+
+	/**
+	 * Returns the shortest path below the given node. Paths with the same
+	 * length are ordered lexically. The subtree is walked level by level and
+	 * the walk stops after the level of the shortest path, as the paths
+	 * ending below have more segments.
+	 *
+	 * @param node
+	 *            The node to search.
+	 * @param depth
+	 *            The depth of the node, i.e. the number of segments of a path
+	 *            ending at it.
+	 * @return The shortest path or <code>null</code> if there is none.
+	 */
+	private IPath findShortestPath(Node node, int depth) {
+		IPath shortest = null;
+		List<Node> level = Collections.singletonList(node);
+		int levelDepth = depth;
+		while (!level.isEmpty() && (shortest == null || shortest.segmentCount() >= levelDepth)) {
+			List<Node> nextLevel = new ArrayList<Node>();
+			for (Node levelNode : level) {
+				shortest = shorter(shortest, levelNode.terminal);
+				shortest = shorter(shortest, levelNode.pending);
+				if (levelNode.children != null) {
+					nextLevel.addAll(levelNode.children.values());
+				}
+			}
+			level = nextLevel;
+			levelDepth++;
+		}
+		return shortest;
+	}
+
+	/**
+	 * Returns the shorter of the given paths, see
+	 * {@link PathSuffixScorer#compare(IPath, IPath)}.
+	 *
+	 * @param path
+	 *            The first path. Can be <code>null</code>.
+	 * @param other
+	 *            The second path. Can be <code>null</code>.
+	 * @return The shorter path, or <code>null</code> if both are
+	 *         <code>null</code>.
+	 */
+	private static IPath shorter(IPath path, IPath other) {
+		if (path == null || other != null && PathSuffixScorer.compare(other, path) < 0) {
+			return other;
+		}
+		return path;
+	}
+
+	/**
+	 * Collects all paths at and below the given node.
+	 *
+	 * @param node
+	 *            The node to start at.
+	 * @param paths
+	 *            The list to add the paths to.
+	 */
+	private void collect(Node node, List<IPath> paths) {
+		if (node.terminal != null) {
+			paths.add(node.terminal);
+		}
+		if (node.pending != null) {
+			paths.add(node.pending);
+		}
+		if (node.children != null) {
+			for (Iterator<Node> iterator = node.children.values().iterator(); iterator.hasNext();) {
+				collect(iterator.next(), paths);
+			}
+		}
+	}
+
+	/**
+	 * Returns the child of the given node for the given segment and creates it
+	 * if necessary.
+	 *
+	 * @param node
+	 *            The parent node.
+	 * @param segment
+	 *            The segment of the child.
+	 * @return The child node.
+	 */
+	private static Node getOrCreateChild(Node node, String segment) {
+		if (node.children == null) {
+			node.children = new HashMap<String, Node>(2);
+		}
+		Node child = node.children.get(segment);
+		if (child == null) {
+			child = new Node();
+			node.children.put(segment, child);
+		}
+		return child;
+	}
+
+	/**
+	 * Folds the case of the given name, so names equal ignoring case have the
+	 * same folded form.
+	 *
+	 * @param name
+	 *            The name.
+	 * @return The case folded name.
+	 */
+	private static String fold(String name) {
+		char[] chars = name.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Returns the segment of the given path counted from the end.
+	 *
+	 * @param path
+	 *            The path.
+	 * @param indexFromEnd
+	 *            The index from the end, 0 is the last segment.
+	 * @return The segment.
+	 */
+	private static String segmentFromEnd(IPath path, int indexFromEnd) {
+		return path.segment(path.segmentCount() - 1 - indexFromEnd);
+	}
+
+}
@@ -0,0 +1,379 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.compare.IEncodedStreamContentAccessor;
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import de.bjoern.openworkspacefile.Activator;
+
+/**
+ * Maps offsets of a revision of a file to the offsets of the workspace
+ * version of that file. The mapping is based on a line diff between both
+ * versions. Lines in unchanged ranges keep their column, lines in changed
+ * ranges are mapped to the start of the corresponding changed range.
+ * <p>
+ * The diffs are cached per workspace file, document modification stamp and
+ * revision, so repeated jumps in the same compare session don't compute the
+ * diff again. A mapper keeps the line offsets and the changed ranges, but not
+ * the texts, so a cached mapper of a large file costs a few bytes per line.
+ *
+ * @author funhoff
+ */
+public class RevisionOffsetMapper {
+
+	/**
+	 * Maximum number of cached mappers.
+	 */
+	private static final int CACHE_SIZE = 32;
+
+	/**
+	 * Cached mappers by key.
+	 */
+	private static final Map<String, RevisionOffsetMapper> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, RevisionOffsetMapper>(CACHE_SIZE, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, RevisionOffsetMapper> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	});
+
+	/**
+	 * Start offsets of the lines of the revision, the text length as last
+	 * element.
+	 */
+	private final int[] revisionLineOffsets;
+
+	/**
+	 * Start offsets of the lines of the workspace file, the text length as
+	 * last element.
+	 */
+	private final int[] workspaceLineOffsets;
+
+	/**
+	 * End offsets of the lines of the workspace file without the delimiters.
+	 */
+	private final int[] workspaceContentEnds;
+
+	/**
+	 * Changed line ranges, left is the revision, right the workspace file.
+	 */
+	private final RangeDifference[] differences;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param revisionText
+	 *            The text of the revision.
+	 * @param workspaceText
+	 *            The text of the workspace file.
+	 * @since Creation date: 17.10.2026
+	 */
+	public RevisionOffsetMapper(String revisionText, String workspaceText) {
+		LineComparator revisionLines = new LineComparator(revisionText);
+		LineComparator workspaceLines = new LineComparator(workspaceText);
+		differences = RangeDifferencer.findDifferences(revisionLines, workspaceLines);
+		revisionLineOffsets = revisionLines.lineOffsets;
+		workspaceLineOffsets = workspaceLines.lineOffsets;
+		workspaceContentEnds = new int[workspaceLines.getRangeCount()];
+		for (int i = 0; i < workspaceContentEnds.length; i++) {
+			workspaceContentEnds[i] = workspaceLines.getContentEnd(i);
+		}
+	}
+
+	/**
+	 * Maps the given revision offset to the workspace file offset.
+	 *
+	 * @param revisionOffset
+	 *            The offset in the revision.
+	 * @return The offset in the workspace file.
+	 * @since Creation date: 17.10.2026
+	 */
+	public int mapOffset(int revisionOffset) {
+		int revisionLine = findLine(revisionLineOffsets, revisionOffset);
+		int column = revisionOffset - revisionLineOffsets[revisionLine];
+		int workspaceLine = revisionLine;
+		for (RangeDifference difference : differences) {
+			if (revisionLine < difference.leftStart()) {
+				break;
+			}
+			if (revisionLine < difference.leftEnd()) {
+				workspaceLine = difference.rightStart() + Math.min(revisionLine - difference.leftStart(), Math.max(difference.rightLength() - 1, 0));
+				column = 0;
+				break;
+			}
+			workspaceLine = revisionLine + difference.rightEnd() - difference.leftEnd();
+		}
+		if (workspaceLine >= workspaceContentEnds.length) {
+			return workspaceLineOffsets[workspaceContentEnds.length];
+		}
+		int lineStart = workspaceLineOffsets[workspaceLine];
+		return Math.min(lineStart + column, workspaceContentEnds[workspaceLine]);
+	}
+
+	/**
+	 * Returns the index of the line containing the given offset.
+	 *
+	 * @param lineOffsets
+	 *            Start offsets of the lines, the text length as last element.
+	 * @param offset
+	 *            The offset.
+	 * @return The line index.
+	 */
+	private static int findLine(int[] lineOffsets, int offset) {
+		int low = 0;
+		int high = lineOffsets.length - 2;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (lineOffsets[middle] <= offset) {
+				low = middle;
+			}
+			else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Maps the given offset of the given revision to the offset in the given
+	 * document of the workspace file.
+	 *
+	 * @param file
+	 *            The workspace file.
+	 * @param document
+	 *            The document of the workspace file.
+	 * @param revision
+	 *            The revision the offset belongs to.
+	 * @param revisionId
+	 *            Identifier of the revision, used as cache key.
+	 * @param offset
+	 *            The offset in the revision.
+	 * @return The offset in the workspace file. If the revision could not be
+	 *         read, the given offset is returned.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static int mapOffset(IFile file, IDocument document, ITypedElement revision, String revisionId, int offset) {
+		Validate.notNull(file);
+		Validate.notNull(document);
+		Validate.notNull(revision);
+		Validate.notEmpty(revisionId);
+		long modificationStamp = document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp() : file.getModificationStamp();
+		RevisionOffsetMapper mapper = CACHE.get(createKey(file, modificationStamp, revisionId));
+		if (mapper != null) {
+			return mapper.mapOffset(offset);
+		}
+		return mapOffset(file, document.get(), modificationStamp, revision, revisionId, offset);
+	}
+
+	/**
+	 * Maps the given offset of the given revision to the offset in the given
+	 * text of the workspace file, e.g. read by {@link MappedFileText}.
+	 *
+	 * @param file
+	 *            The workspace file.
+	 * @param text
+	 *            The text of the workspace file.
+	 * @param modificationStamp
+	 *            The modification stamp the text belongs to.
+	 * @param revision
+	 *            The revision the offset belongs to.
+	 * @param revisionId
+	 *            Identifier of the revision, used as cache key.
+	 * @param offset
+	 *            The offset in the revision.
+	 * @return The offset in the workspace file. If the revision could not be
+	 *         read, the given offset is returned.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static int mapOffset(IFile file, CharSequence text, long modificationStamp, ITypedElement revision, String revisionId, int offset) {
+		Validate.notNull(file);
+		Validate.notNull(text);
+		Validate.notNull(revision);
+		Validate.notEmpty(revisionId);
+		String key = createKey(file, modificationStamp, revisionId);
+		try {
+			RevisionOffsetMapper mapper = CACHE.get(key);
+			if (mapper == null) {
+				mapper = new RevisionOffsetMapper(readContent(revision, file.getCharset()), text.toString());
+				CACHE.put(key, mapper);
+			}
+			return mapper.mapOffset(offset);
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The offset could not be mapped to " + file.getFullPath(), e));
+		}
+		catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The offset could not be mapped to " + file.getFullPath(), e));
+		}
+		return offset;
+	}
+
+	/**
+	 * Returns the cache key of a mapper.
+	 *
+	 * @param file
+	 *            The workspace file.
+	 * @param modificationStamp
+	 *            The modification stamp of the workspace text.
+	 * @param revisionId
+	 *            Identifier of the revision.
+	 * @return The key.
+	 */
+	private static String createKey(IFile file, long modificationStamp, String revisionId) {
+		return file.getFullPath() + "|" + modificationStamp + "|" + revisionId;
+	}
+
+	/**
+	 * Reads the content of the given revision.
+	 *
+	 * @param revision
+	 *            The revision to read.
+	 * @param defaultCharset
+	 *            The charset to use if the revision does not define one.
+	 * @return The content.
+	 * @throws CoreException
+	 *             If the content is not accessible.
+	 * @throws IOException
+	 *             If the content could not be read.
+	 */
+	private static String readContent(ITypedElement revision, String defaultCharset) throws CoreException, IOException {
+		if (!(revision instanceof IStreamContentAccessor)) {
+			throw new IOException("The revision " + revision.getName() + " has no content.");
+		}
+		String charset = null;
+		if (revision instanceof IEncodedStreamContentAccessor) {
+			charset = ((IEncodedStreamContentAccessor) revision).getCharset();
+		}
+		InputStream contents = ((IStreamContentAccessor) revision).getContents();
+		if (contents == null) {
+			return "";
+		}
+		Reader reader = new InputStreamReader(contents, charset != null ? charset : defaultCharset);
+		try {
+			StringBuilder builder = new StringBuilder();
+			char[] buffer = new char[8192];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				builder.append(buffer, 0, read);
+			}
+			return builder.toString();
+		}
+		finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Compares the lines of a text, ignoring the line delimiters.
+	 */
+	private static class LineComparator implements IRangeComparator {
+
+		/**
+		 * The text.
+		 */
+		private final String text;
+
+		/**
+		 * Start offsets of the lines, the text length as last element.
+		 */
+		private final int[] lineOffsets;
+
+		/**
+		 * Hash codes of the lines.
+		 */
+		private final int[] lineHashes;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param text
+		 *            The text to compare.
+		 */
+		LineComparator(String text) {
+			this.text = text;
+			int lineCount = 1;
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+					lineCount++;
+				}
+			}
+			lineOffsets = new int[lineCount + 1];
+			int line = 1;
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+					lineOffsets[line++] = i + 1;
+				}
+			}
+			lineOffsets[lineCount] = text.length();
+			lineHashes = new int[lineCount];
+			for (int i = 0; i < lineCount; i++) {
+				int hash = 0;
+				for (int j = lineOffsets[i], end = getContentEnd(i); j < end; j++) {
+					hash = 31 * hash + text.charAt(j);
+				}
+				lineHashes[i] = hash;
+			}
+		}
+
+		/**
+		 * Returns the end offset of the given line without the delimiter.
+		 *
+		 * @param line
+		 *            The line index.
+		 * @return The end offset.
+		 */
+		private int getContentEnd(int line) {
+			int end = lineOffsets[line + 1];
+			while (end > lineOffsets[line] && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+				end--;
+			}
+			return end;
+		}
+
+		@Override
+		public int getRangeCount() {
+			return lineHashes.length;
+		}
+
+		@Override
+		public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
+			LineComparator otherComparator = (LineComparator) other;
+			if (lineHashes[thisIndex] != otherComparator.lineHashes[otherIndex]) {
+				return false;
+			}
+			int start = lineOffsets[thisIndex];
+			int length = getContentEnd(thisIndex) - start;
+			int otherStart = otherComparator.lineOffsets[otherIndex];
+			int otherLength = otherComparator.getContentEnd(otherIndex) - otherStart;
+			return length == otherLength && text.regionMatches(start, otherComparator.text, otherStart, length);
+		}
+
+		@Override
+		public boolean skipRangeComparison(int length, int maxLength, IRangeComparator other) {
+			return false;
+		}
+	}
+
+}
@@ -1,40 +1,72 @@
 package de.bjoern.openworkspacefile.util;
 
 import org.apache.commons.lang3.Validate;
+import org.eclipse.compare.ITypedElement;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.IWorkbenchPage;
 
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.preferences.PreferenceConstants;
+
 /**
- * Job to search for and open a file.
+ * Job to search for and open a file. The file is either given directly or
+ * resolved from a repository path inside the job. A resolved file is opened
+ * by a job of its own, so requests for the same workspace file are
+ * coalesced regardless of how they identified it.
  * 
  * @author funhoff
  */
 public class SearchAndOpenFileInWorkspaceJob extends Job {
 
+	/**
+	 * Family of all jobs opening workspace files.
+	 */
+	public static final Object FAMILY = new Object();
+
 	/**
 	 * The active page.
 	 */
 	private IWorkbenchPage activePage;
 
 	/**
-	 * File to open in editor.
+	 * File to open in editor. <code>null</code> until resolved, if the job
+	 * has been created with a repository path.
 	 */
 	private IFile file;
 
+	/**
+	 * The repository path to resolve the file from. <code>null</code> if the
+	 * file is given directly.
+	 */
+	private String repositoryPath;
+
 	/**
 	 * The String to find and select.
 	 */
 	private String findString;
 
 	/**
-	 * The offset to go to, if no text to find is defined.
+	 * The offset to go to, or to search the text to find around.
 	 */
 	private int offset = 0;
 
+	/**
+	 * The revision the offset belongs to. <code>null</code> if the offset
+	 * belongs to the workspace file.
+	 */
+	private ITypedElement revision;
+
+	/**
+	 * Identifier of the revision.
+	 */
+	private String revisionId;
+
 	/**
 	 * Constructor.
 	 * 
@@ -50,6 +82,7 @@ public class SearchAndOpenFileInWorkspaceJob extends Job {
 		Validate.notNull(file);
 		this.activePage = activePage;
 		this.file = file;
+		setRule(OpenFileSchedulingRule.forFile(file));
 	}
 
 	/**
@@ -69,6 +102,25 @@ public class SearchAndOpenFileInWorkspaceJob extends Job {
 		this.findString = findString;
 	}
 
+	/**
+	 * Constructor.
+	 * 
+	 * @param activePage
+	 *            The active page.
+	 * @param file
+	 *            The file to open.
+	 * @param findString
+	 *            The string to find and select.
+	 * @param offset
+	 *            The offset to search the string around.
+	 * @since Creation date: 17.10.2026
+	 */
+	public SearchAndOpenFileInWorkspaceJob(IWorkbenchPage activePage, IFile file, String findString, int offset) {
+		this(activePage, file, offset);
+		Validate.notEmpty(findString);
+		this.findString = findString;
+	}
+
 	/**
 	 * Constructor.
 	 * 
@@ -88,10 +140,168 @@ public class SearchAndOpenFileInWorkspaceJob extends Job {
 		this.offset = offset;
 	}
 
+	/**
+	 * Constructor.
+	 * 
+	 * @param activePage
+	 *            The active page.
+	 * @param repositoryPath
+	 *            The repository path of the file to open.
+	 * @since Creation date: 17.10.2026
+	 */
+	public SearchAndOpenFileInWorkspaceJob(IWorkbenchPage activePage, String repositoryPath) {
+		super("Opening workspace file");
+		Validate.notNull(activePage);
+		Validate.notEmpty(repositoryPath);
+		this.activePage = activePage;
+		this.repositoryPath = repositoryPath;
+		setRule(OpenFileSchedulingRule.forRepositoryPath(repositoryPath));
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param activePage
+	 *            The active page.
+	 * @param repositoryPath
+	 *            The repository path of the file to open.
+	 * @param findString
+	 *            The string to find and select.
+	 * @since Creation date: 17.10.2026
+	 */
+	public SearchAndOpenFileInWorkspaceJob(IWorkbenchPage activePage, String repositoryPath, String findString) {
+		this(activePage, repositoryPath);
+		Validate.notEmpty(findString);
+		this.findString = findString;
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param activePage
+	 *            The active page.
+	 * @param repositoryPath
+	 *            The repository path of the file to open.
+	 * @param findString
+	 *            The string to find and select.
+	 * @param offset
+	 *            The offset to search the string around.
+	 * @since Creation date: 17.10.2026
+	 */
+	public SearchAndOpenFileInWorkspaceJob(IWorkbenchPage activePage, String repositoryPath, String findString, int offset) {
+		this(activePage, repositoryPath, offset);
+		Validate.notEmpty(findString);
+		this.findString = findString;
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param activePage
+	 *            The active page.
+	 * @param repositoryPath
+	 *            The repository path of the file to open.
+	 * @param offset
+	 *            The offset to go to.
+	 * @since Creation date: 17.10.2026
+	 */
+	public SearchAndOpenFileInWorkspaceJob(IWorkbenchPage activePage, String repositoryPath, int offset) {
+		this(activePage, repositoryPath);
+		if (offset < 0) {
+			throw new IllegalArgumentException("offset must be 0 or greater.");
+		}
+		this.offset = offset;
+	}
+
+	/**
+	 * Sets the revision the offset belongs to. If set and enabled in the
+	 * preferences, the offset is mapped through the changes between the
+	 * revision and the workspace file.
+	 * 
+	 * @param revision
+	 *            The revision the offset belongs to.
+	 * @param revisionId
+	 *            Identifier of the revision, e.g. URL and revision number.
+	 * @since Creation date: 17.10.2026
+	 */
+	public void setRevision(ITypedElement revision, String revisionId) {
+		Validate.notNull(revision);
+		Validate.notEmpty(revisionId);
+		this.revision = revision;
+		this.revisionId = revisionId;
+	}
+
+	@Override
+	public boolean belongsTo(Object family) {
+		return family == FAMILY;
+	}
+
+	/**
+	 * Cancels the other jobs of the {@link #FAMILY} opening the same file, or
+	 * resolving the same repository path, before this job gets scheduled, so
+	 * repeated requests for one file don't queue up.
+	 */
+	@Override
+	public boolean shouldSchedule() {
+		Job[] jobs = Job.getJobManager().find(FAMILY);
+		for (Job job : jobs) {
+			if (job != this && job.getRule() != null && job.getRule().isConflicting(getRule())) {
+				job.cancel();
+			}
+		}
+		return super.shouldSchedule();
+	}
+
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
+		long jobStart = System.nanoTime();
+		try {
+			return openFile(monitor);
+		}
+		finally {
+			OpenWorkspaceFileHelper.logTiming("open job", repositoryPath != null ? repositoryPath : file, jobStart);
+		}
+	}
+
+	/**
+	 * Opens the file, or resolves it and schedules a job opening it.
+	 * 
+	 * @param monitor
+	 *            The progress monitor.
+	 * @return The status of the job.
+	 */
+	private IStatus openFile(IProgressMonitor monitor) {
+		if (file == null) {
+			long start = System.nanoTime();
+			SubMonitor progress = SubMonitor.convert(monitor, "Resolving " + repositoryPath, 1);
+			try {
+				file = OpenWorkspaceFileHelper.getWorkspaceFile(repositoryPath, revision, revisionId, true, progress.newChild(1));
+				OpenWorkspaceFileHelper.logTiming("resolve file", repositoryPath, start);
+			}
+			catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			finally {
+				monitor.done();
+			}
+			if (file == null) {
+				OpenWorkspaceFileHelper.showAndLogErrorMessage("No workspace file found for " + repositoryPath + ".", null);
+				return Status.OK_STATUS;
+			}
+			if (!monitor.isCanceled()) {
+				createOpenJob().schedule();
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+		if (monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		boolean mapOffset = revision != null && Activator.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.MAP_OFFSET_BY_DIFF);
 		if (findString != null && !findString.isEmpty()) {
-			OpenWorkspaceFileHelper.openEditorAndFindString(activePage, file, findString);
+			OpenWorkspaceFileHelper.openEditorAndFindString(activePage, file, findString, offset, mapOffset ? revision : null, mapOffset ? revisionId : null);
+		}
+		else if (mapOffset) {
+			OpenWorkspaceFileHelper.openEditorAndGoToOffset(activePage, file, offset, revision, revisionId);
 		}
 		else {
 			OpenWorkspaceFileHelper.openEditorAndGoToOffset(activePage, file, offset);
@@ -99,4 +309,19 @@ public class SearchAndOpenFileInWorkspaceJob extends Job {
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Creates the job opening the resolved file like this job would, keyed
+	 * by the workspace path of the file.
+	 * 
+	 * @return The created job.
+	 */
+	private SearchAndOpenFileInWorkspaceJob createOpenJob() {
+		SearchAndOpenFileInWorkspaceJob job = new SearchAndOpenFileInWorkspaceJob(activePage, file);
+		job.findString = findString;
+		job.offset = offset;
+		job.revision = revision;
+		job.revisionId = revisionId;
+		return job;
+	}
+
 }
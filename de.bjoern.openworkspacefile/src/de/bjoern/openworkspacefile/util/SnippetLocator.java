@@ -0,0 +1,411 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+/**
+ * Locates snippets in a text even if the text has been reformatted or
+ * re-indented since the snippet has been taken. Whitespace is ignored and
+ * characters are compared case insensitive. The text is fingerprinted once by
+ * winnowing the rolling hashes of its {@link #GRAM_LENGTH} character grams, so
+ * every common substring of {@link #GRAM_LENGTH} + {@link #WINDOW} - 1
+ * characters shares a fingerprint. A snippet is located by the alignment most
+ * of its grams vote for, in time linear in the length of the snippet.
+ * <p>
+ * The fingerprints are cached per key, e.g. file and modification stamp, so
+ * repeated searches in the same text don't fingerprint it again.
+ *
+ * @author funhoff
+ */
+public final class SnippetLocator {
+
+	/**
+	 * Number of non whitespace characters of a gram.
+	 */
+	private static final int GRAM_LENGTH = 12;
+
+	/**
+	 * Number of consecutive grams of which the one with the smallest hash is
+	 * kept as fingerprint.
+	 */
+	private static final int WINDOW = 8;
+
+	/**
+	 * Base of the rolling hash.
+	 */
+	private static final int BASE = 31;
+
+	/**
+	 * Fingerprints occurring more often are ignored, as they don't tell the
+	 * position of a snippet, e.g. of a row of closing braces.
+	 */
+	private static final int MAX_OCCURRENCES = 32;
+
+	/**
+	 * Maximum difference of the alignments voting for the same region, so
+	 * small edits within the snippet don't split the votes.
+	 */
+	private static final int BAND = 16;
+
+	/**
+	 * Number of non whitespace characters between two checkpoints.
+	 */
+	private static final int CHECKPOINT_INTERVAL = 256;
+
+	/**
+	 * Maximum number of cached locators.
+	 */
+	private static final int CACHE_SIZE = 4;
+
+	/**
+	 * Cached locators by key.
+	 */
+	private static final Map<String, SnippetLocator> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, SnippetLocator>(CACHE_SIZE, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, SnippetLocator> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	});
+
+	/**
+	 * The fingerprints, each the hash in the upper and the normalized position
+	 * of its gram in the lower 32 bits, sorted.
+	 */
+	private final long[] fingerprints;
+
+	/**
+	 * Offsets in the text of every {@link #CHECKPOINT_INTERVAL}th non
+	 * whitespace character.
+	 */
+	private final int[] checkpoints;
+
+	/**
+	 * The number of non whitespace characters of the text.
+	 */
+	private final int normalizedLength;
+
+	/**
+	 * Constructor. Fingerprints the given text.
+	 *
+	 * @param text
+	 *            The text to locate snippets in.
+	 * @since Creation date: 17.10.2026
+	 */
+	public SnippetLocator(CharSequence text) {
+		Validate.notNull(text);
+		int highestPower = 1;
+		for (int i = 1; i < GRAM_LENGTH; i++) {
+			highestPower *= BASE;
+		}
+		char[] gram = new char[GRAM_LENGTH];
+		int[] windowHashes = new int[WINDOW];
+		int[] windowPositions = new int[WINDOW];
+		Arrays.fill(windowHashes, Integer.MAX_VALUE);
+		int right = 0;
+		int min = 0;
+		long[] found = new long[Math.max(16, text.length() / WINDOW)];
+		int foundCount = 0;
+		int[] offsets = new int[text.length() / CHECKPOINT_INTERVAL + 1];
+		int hash = 0;
+		int n = 0;
+		for (int offset = 0; offset < text.length(); offset++) {
+			char c = text.charAt(offset);
+			if (Character.isWhitespace(c)) {
+				continue;
+			}
+			if (n % CHECKPOINT_INTERVAL == 0) {
+				offsets[n / CHECKPOINT_INTERVAL] = offset;
+			}
+			c = fold(c);
+			if (n >= GRAM_LENGTH) {
+				hash -= gram[n % GRAM_LENGTH] * highestPower;
+			}
+			hash = hash * BASE + c;
+			gram[n % GRAM_LENGTH] = c;
+			n++;
+			if (n < GRAM_LENGTH) {
+				continue;
+			}
+			right = (right + 1) % WINDOW;
+			windowHashes[right] = hash;
+			windowPositions[right] = n - GRAM_LENGTH;
+			boolean record = false;
+			if (min == right) {
+				for (int i = (right + WINDOW - 1) % WINDOW; i != right; i = (i + WINDOW - 1) % WINDOW) {
+					if (windowHashes[i] < windowHashes[min]) {
+						min = i;
+					}
+				}
+				record = true;
+			}
+			else if (windowHashes[right] <= windowHashes[min]) {
+				min = right;
+				record = true;
+			}
+			if (record) {
+				if (foundCount == found.length) {
+					found = Arrays.copyOf(found, foundCount * 2);
+				}
+				found[foundCount++] = pack(windowHashes[min], windowPositions[min]);
+			}
+		}
+		fingerprints = Arrays.copyOf(found, foundCount);
+		Arrays.sort(fingerprints);
+		checkpoints = Arrays.copyOf(offsets, (n + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL);
+		normalizedLength = n;
+	}
+
+	/**
+	 * Locates the given snippet in the given text, fingerprinting the text
+	 * only if no locator is cached for the given key.
+	 *
+	 * @param key
+	 *            The key of the text, e.g. file and modification stamp.
+	 * @param text
+	 *            The text to search in.
+	 * @param snippet
+	 *            The snippet to locate.
+	 * @param offset
+	 *            The offset preferred among equally good regions.
+	 * @return The region of the best match, or <code>null</code> if the
+	 *         snippet does not match anywhere.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static IRegion locate(String key, CharSequence text, String snippet, int offset) {
+		Validate.notEmpty(key);
+		SnippetLocator locator = CACHE.get(key);
+		if (locator == null) {
+			locator = new SnippetLocator(text);
+			CACHE.put(key, locator);
+		}
+		return locator.locate(text, snippet, offset);
+	}
+
+	/**
+	 * Locates the given snippet in the fingerprinted text. At least a quarter
+	 * of the fingerprints expected for an unchanged snippet have to vote for
+	 * the region.
+	 *
+	 * @param text
+	 *            The fingerprinted text.
+	 * @param snippet
+	 *            The snippet to locate.
+	 * @param offset
+	 *            The offset preferred among equally good regions.
+	 * @return The region of the best match, or <code>null</code> if the
+	 *         snippet is too short or does not match anywhere.
+	 * @since Creation date: 17.10.2026
+	 */
+	public IRegion locate(CharSequence text, String snippet, int offset) {
+		Validate.notNull(text);
+		Validate.notNull(snippet);
+		char[] normalized = normalize(snippet);
+		int gramCount = normalized.length - GRAM_LENGTH + 1;
+		if (gramCount <= 0 || fingerprints.length == 0) {
+			return null;
+		}
+		int[] alignments = collectAlignments(normalized);
+		int minVotes = Math.max(2, gramCount * 2 / (WINDOW + 1) / 4);
+		if (alignments.length < minVotes) {
+			return null;
+		}
+		Arrays.sort(alignments);
+		int preferred = toNormalized(text, offset);
+		int bestFirst = -1;
+		int bestLast = -1;
+		long bestDistance = Long.MAX_VALUE;
+		int last = 0;
+		for (int first = 0; first < alignments.length; first++) {
+			last = Math.max(last, first);
+			while (last + 1 < alignments.length && alignments[last + 1] - alignments[first] <= BAND) {
+				last++;
+			}
+			int votes = last - first + 1;
+			int bestVotes = bestLast - bestFirst + 1;
+			long distance = Math.abs((long) alignments[first] - preferred);
+			if (bestFirst < 0 || votes > bestVotes || votes == bestVotes && distance < bestDistance) {
+				bestFirst = first;
+				bestLast = last;
+				bestDistance = distance;
+			}
+		}
+		if (bestLast - bestFirst + 1 < minVotes) {
+			return null;
+		}
+		int start = Math.max(0, alignments[bestFirst]);
+		int end = Math.min(normalizedLength, alignments[bestLast] + normalized.length);
+		if (end <= start) {
+			return null;
+		}
+		int startOffset = toOriginal(text, start);
+		int endOffset = toOriginal(text, end - 1) + 1;
+		return new Region(startOffset, endOffset - startOffset);
+	}
+
+	/**
+	 * Returns the alignments, i.e. the normalized text position minus the
+	 * snippet position, of all grams of the snippet matching a fingerprint.
+	 *
+	 * @param normalized
+	 *            The normalized snippet.
+	 * @return The alignments, unsorted.
+	 */
+	private int[] collectAlignments(char[] normalized) {
+		int highestPower = 1;
+		for (int i = 1; i < GRAM_LENGTH; i++) {
+			highestPower *= BASE;
+		}
+		int[] alignments = new int[16];
+		int count = 0;
+		int hash = 0;
+		for (int i = 0; i < normalized.length; i++) {
+			if (i >= GRAM_LENGTH) {
+				hash -= normalized[i - GRAM_LENGTH] * highestPower;
+			}
+			hash = hash * BASE + normalized[i];
+			if (i < GRAM_LENGTH - 1) {
+				continue;
+			}
+			int from = lowerBound(pack(hash, 0));
+			int to = hash == Integer.MAX_VALUE ? fingerprints.length : lowerBound(pack(hash + 1, 0));
+			if (to - from > MAX_OCCURRENCES) {
+				continue;
+			}
+			int gramPosition = i - GRAM_LENGTH + 1;
+			for (int j = from; j < to; j++) {
+				if (count == alignments.length) {
+					alignments = Arrays.copyOf(alignments, count * 2);
+				}
+				alignments[count++] = (int) fingerprints[j] - gramPosition;
+			}
+		}
+		return Arrays.copyOf(alignments, count);
+	}
+
+	/**
+	 * Returns the index of the first fingerprint not less than the given
+	 * value.
+	 *
+	 * @param value
+	 *            The packed value.
+	 * @return The index.
+	 */
+	private int lowerBound(long value) {
+		int low = 0;
+		int high = fingerprints.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (fingerprints[middle] < value) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the number of non whitespace characters before the given offset
+	 * of the text.
+	 *
+	 * @param text
+	 *            The fingerprinted text.
+	 * @param offset
+	 *            The offset in the text.
+	 * @return The normalized position.
+	 */
+	private int toNormalized(CharSequence text, int offset) {
+		if (checkpoints.length == 0) {
+			return 0;
+		}
+		int index = Arrays.binarySearch(checkpoints, offset);
+		if (index < 0) {
+			index = Math.max(0, -index - 2);
+		}
+		int position = index * CHECKPOINT_INTERVAL;
+		int end = Math.min(offset, text.length());
+		for (int i = checkpoints[index]; i < end; i++) {
+			if (!Character.isWhitespace(text.charAt(i))) {
+				position++;
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Returns the offset in the text of the given non whitespace character.
+	 *
+	 * @param text
+	 *            The fingerprinted text.
+	 * @param position
+	 *            The normalized position, less than the normalized length.
+	 * @return The offset in the text.
+	 */
+	private int toOriginal(CharSequence text, int position) {
+		int offset = checkpoints[position / CHECKPOINT_INTERVAL];
+		int remaining = position % CHECKPOINT_INTERVAL;
+		while (true) {
+			if (!Character.isWhitespace(text.charAt(offset))) {
+				if (remaining == 0) {
+					return offset;
+				}
+				remaining--;
+			}
+			offset++;
+		}
+	}
+
+	/**
+	 * Returns the case folded non whitespace characters of the given string.
+	 *
+	 * @param string
+	 *            The string.
+	 * @return The normalized characters.
+	 */
+	private static char[] normalize(String string) {
+		char[] normalized = new char[string.length()];
+		int length = 0;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (!Character.isWhitespace(c)) {
+				normalized[length++] = fold(c);
+			}
+		}
+		return Arrays.copyOf(normalized, length);
+	}
+
+	/**
+	 * Folds the case of the given character.
+	 *
+	 * @param c
+	 *            The character.
+	 * @return The case folded character.
+	 */
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Packs a hash and a position into a fingerprint.
+	 *
+	 * @param hash
+	 *            The hash of the gram.
+	 * @param position
+	 *            The normalized position of the gram.
+	 * @return The fingerprint.
+	 */
+	private static long pack(int hash, int position) {
+		return (long) hash << 32 | position & 0xFFFFFFFFL;
+	}
+
+}
@@ -0,0 +1,121 @@
+package de.bjoern.openworkspacefile.util;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.egit.core.project.RepositoryMapping;
+import org.eclipse.team.core.RepositoryProvider;
+import org.eclipse.team.svn.core.SVNTeamPlugin;
+import org.eclipse.team.svn.core.resource.IRepositoryResource;
+import org.eclipse.team.svn.core.svnstorage.SVNRemoteStorage;
+
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.resolver.ProjectRoots;
+
+/**
+ * Derives the repository roots of the open projects from the metadata of
+ * their team providers: the repository URL for projects shared with SVN, the
+ * repository relative path qualified by the Git directory for projects shared
+ * with Git.
+ *
+ * @author funhoff
+ */
+public final class TeamProjectRoots {
+
+	/**
+	 * Private constructor.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	private TeamProjectRoots() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Schedules a job putting the repository roots of the open projects into
+	 * the given project roots.
+	 *
+	 * @param roots
+	 *            The project roots to fill.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void schedule(final ProjectRoots roots) {
+		Job job = new Job("Reading repository roots of the shared projects") {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					collect(roots, monitor);
+					return Status.OK_STATUS;
+				}
+				catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+	}
+
+	/**
+	 * Puts the repository roots of the open projects into the given project
+	 * roots.
+	 *
+	 * @param roots
+	 *            The project roots to fill.
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void collect(ProjectRoots roots, IProgressMonitor monitor) {
+		IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
+		SubMonitor progress = SubMonitor.convert(monitor, projects.length);
+		for (IProject project : projects) {
+			if (progress.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (project.isOpen()) {
+				putRoot(roots, project);
+			}
+			progress.worked(1);
+		}
+	}
+
+	/**
+	 * Puts the path or URI of the given project in its repository, qualified by
+	 * the Git directory for Git projects.
+	 *
+	 * @param roots
+	 *            The project roots to fill.
+	 * @param project
+	 *            The open project.
+	 */
+	private static void putRoot(ProjectRoots roots, IProject project) {
+		try {
+			if (RepositoryProvider.getProvider(project, SVNTeamPlugin.NATURE_ID) != null) {
+				IRepositoryResource repositoryResource = SVNRemoteStorage.instance().asRepositoryResource(project);
+				if (repositoryResource != null) {
+					roots.put(repositoryResource.getUrl(), null, project.getName());
+				}
+				return;
+			}
+			RepositoryMapping mapping = RepositoryMapping.getMapping(project);
+			String rootPath = mapping != null ? mapping.getRepoRelativePath(project) : null;
+			if (rootPath != null && mapping.getRepository() != null) {
+				roots.put(rootPath, mapping.getRepository().getDirectory().getAbsolutePath(), project.getName());
+			}
+		}
+		catch (RuntimeException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "The repository root of " + project.getName() + " could not be read", e));
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.ui.progress.UIJob;
+
+/**
+ * Collects work for the UI thread and runs everything collected in a single
+ * {@link UIJob}. Work enqueued with the same key replaces the work
+ * still pending for that key, so requests to open the same file several times
+ * are merged.
+ *
+ * @author funhoff
+ */
+public final class UIThreadBatch {
+
+	/**
+	 * Pending work by key.
+	 */
+	private static final Map<Object, Runnable> PENDING = new LinkedHashMap<Object, Runnable>();
+
+	/**
+	 * <code>true</code> if the UI job running the pending work has been
+	 * scheduled and did not start yet.
+	 */
+	private static boolean scheduled = false;
+
+	/**
+	 * Private constructor.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	private UIThreadBatch() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Enqueues the given work to be run in the UI thread. Replaces the pending
+	 * work of the same key. Returns immediately.
+	 *
+	 * @param key
+	 *            The key of the work, e.g. the file to open.
+	 * @param work
+	 *            The work to run in the UI thread.
+	 * @since Creation date: 17.10.2026
+	 */
+	public static void enqueue(Object key, Runnable work) {
+		Validate.notNull(key);
+		Validate.notNull(work);
+		synchronized (PENDING) {
+			PENDING.remove(key);
+			PENDING.put(key, work);
+			if (scheduled) {
+				return;
+			}
+			scheduled = true;
+		}
+		UIJob job = new UIJob("Opening editor") {
+
+			@Override
+			public IStatus runInUIThread(IProgressMonitor monitor) {
+				runPending();
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Runs all pending work. Must be called in the UI thread.
+	 */
+	private static void runPending() {
+		List<Runnable> work;
+		synchronized (PENDING) {
+			work = new ArrayList<Runnable>(PENDING.values());
+			PENDING.clear();
+			scheduled = false;
+		}
+		for (Runnable runnable : work) {
+			runnable.run();
+		}
+	}
+
+}
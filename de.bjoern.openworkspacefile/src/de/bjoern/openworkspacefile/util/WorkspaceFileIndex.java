@@ -0,0 +1,489 @@
+package de.bjoern.openworkspacefile.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
+
+import de.bjoern.openworkspacefile.Activator;
+import de.bjoern.openworkspacefile.resolver.FileIndex;
+
+/**
+ * Index of the full paths of all workspace files, organized as
+ * {@link ReversePathTrie}. The index is built once, kept up to date by
+ * listening to resource changes and can be written to and read from a
+ * snapshot file. Opened projects are indexed by the build job, not by the
+ * resource change listener.
+ *
+ * @author funhoff
+ */
+public class WorkspaceFileIndex implements IResourceChangeListener, FileIndex {
+
+	/**
+	 * Version of the snapshot file format.
+	 */
+	private static final int SNAPSHOT_VERSION = 1;
+
+	/**
+	 * Maximum time the build job indexes projects before it yields to other
+	 * jobs.
+	 */
+	private static final long BUILD_SLICE_MILLIS = 100;
+
+	/**
+	 * Time to wait for the build job before checking the progress monitor
+	 * again.
+	 */
+	private static final long WAIT_POLL_MILLIS = 50;
+
+	/**
+	 * Full paths of all workspace files.
+	 */
+	private final ReversePathTrie trie = new ReversePathTrie();
+
+	/**
+	 * <code>true</code> if the index contains all workspace files, except the
+	 * files of the {@link #pendingProjects}.
+	 */
+	private boolean built = false;
+
+	/**
+	 * The projects not indexed yet, either by the first build or since they
+	 * have been opened.
+	 */
+	private final Queue<IProject> pendingProjects = new ArrayDeque<IProject>();
+
+	/**
+	 * The job building the index in the background. <code>null</code> if not
+	 * scheduled.
+	 */
+	private Job buildJob;
+
+	/**
+	 * Job building the index in the background, a slice of the
+	 * {@link #pendingProjects} per run.
+	 */
+	private class BuildJob extends Job {
+
+		/**
+		 * Constructor.
+		 */
+		BuildJob() {
+			super("Indexing workspace files");
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			long sliceEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BUILD_SLICE_MILLIS);
+			try {
+				while (true) {
+					IProject project;
+					synchronized (WorkspaceFileIndex.this) {
+						project = pendingProjects.peek();
+						if (project == null) {
+							built = true;
+							buildJob = null;
+							return Status.OK_STATUS;
+						}
+					}
+					if (monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					if (System.nanoTime() > sliceEnd) {
+						schedule();
+						return Status.OK_STATUS;
+					}
+					monitor.subTask(project.getName());
+					try {
+						addProject(project);
+					}
+					catch (CoreException e) {
+						// a project closed or deleted meanwhile is removed by the listener
+						if (project.isOpen()) {
+							throw e;
+						}
+					}
+					synchronized (WorkspaceFileIndex.this) {
+						if (pendingProjects.peek() == project) {
+							pendingProjects.remove();
+						}
+					}
+				}
+			}
+			catch (OperationCanceledException e) {
+				finishBuildJob();
+				return Status.CANCEL_STATUS;
+			}
+			catch (CoreException e) {
+				finishBuildJob();
+				return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The workspace file index could not be built", e);
+			}
+		}
+
+		/**
+		 * Forgets this job without marking the index as built.
+		 */
+		private void finishBuildJob() {
+			synchronized (WorkspaceFileIndex.this) {
+				buildJob = null;
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the index contains all workspace files.
+	 *
+	 * @return <code>true</code> if the index has been built or loaded, and
+	 *         all opened projects have been indexed.
+	 * @since Creation date: 17.10.2026
+	 */
+	@Override
+	public synchronized boolean isBuilt() {
+		return built && pendingProjects.isEmpty();
+	}
+
+	/**
+	 * Waits until the index has been built or loaded, see
+	 * {@link #scheduleBuild()}. The index is never built in the calling
+	 * thread. In the UI thread the build is only scheduled, as the UI must not
+	 * wait for it.
+	 *
+	 * @param monitor
+	 *            The progress monitor. Can be <code>null</code>.
+	 * @return <code>true</code> if the index is built, <code>false</code> if
+	 *         called in the UI thread before it is built, or if the build
+	 *         failed or has been canceled.
+	 * @throws OperationCanceledException
+	 *             If the monitor has been canceled.
+	 * @since Creation date: 17.10.2026
+	 */
+	public boolean ensureBuilt(IProgressMonitor monitor) {
+		scheduleBuild();
+		if (Display.getCurrent() != null) {
+			return isBuilt();
+		}
+		IProgressMonitor progressMonitor = monitor != null ? monitor : new NullProgressMonitor();
+		progressMonitor.beginTask("Waiting for the workspace file index", IProgressMonitor.UNKNOWN);
+		try {
+			while (true) {
+				synchronized (this) {
+					if (isBuilt() || buildJob == null) {
+						return isBuilt();
+					}
+				}
+				if (progressMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				Thread.sleep(WAIT_POLL_MILLIS);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		finally {
+			progressMonitor.done();
+		}
+	}
+
+	/**
+	 * Schedules a background job building the index, if it has not been built
+	 * and no such job is scheduled yet. Returns immediately. The job indexes
+	 * the projects in slices of {@link #BUILD_SLICE_MILLIS} and reschedules
+	 * itself in between, so waiting jobs of higher priority run first.
+	 *
+	 * @since Creation date: 17.10.2026
+	 */
+	@Override
+	public void scheduleBuild() {
+		Job job;
+		synchronized (this) {
+			if (isBuilt() || buildJob != null) {
+				return;
+			}
+			if (!built) {
+				pendingProjects.clear();
+				pendingProjects.addAll(Arrays.asList(ResourcesPlugin.getWorkspace().getRoot().getProjects()));
+			}
+			job = new BuildJob();
+			buildJob = job;
+		}
+		job.schedule();
+	}
+
+	/**
+	 * Queues the given opened project to be indexed by the build job. Does
+	 * nothing if the index has neither been built nor is being built, as the
+	 * build indexes all projects anyway.
+	 *
+	 * @param project
+	 *            The opened project.
+	 */
+	private void queueProject(IProject project) {
+		Job job;
+		synchronized (this) {
+			if (!built && buildJob == null) {
+				return;
+			}
+			if (!pendingProjects.contains(project)) {
+				pendingProjects.add(project);
+			}
+			if (buildJob != null) {
+				return;
+			}
+			job = new BuildJob();
+			buildJob = job;
+		}
+		job.schedule();
+	}
+
+	/**
+	 * Returns the workspace file with the longest path suffix in common with
+	 * the given repository path.
+	 *
+	 * @param repositoryPath
+	 *            The path or URI of the repository source.
+	 * @return The best match, or <code>null</code> if no workspace file has
+	 *         the same name.
+	 * @see ReversePathTrie#lookup(String[])
+	 * @since Creation date: 17.10.2026
+	 */
+	@Override
+	public ReversePathTrie.Match lookup(String repositoryPath) {
+		Validate.notEmpty(repositoryPath);
+		String[] segments = repositoryPath.split(OpenWorkspaceFileHelper.PATH_SEPARATOR);
+		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+		while (true) {
+			ReversePathTrie.Match match;
+			synchronized (this) {
+				match = trie.lookup(segments);
+			}
+			if (match == null || workspaceRoot.getFile(match.getPath()).exists()) {
+				return match;
+			}
+			removePath(match.getPath());
+		}
+	}
+
+	@Override
+	public synchronized List<IPath> getPaths(String fileName) {
+		return trie.getPaths(fileName);
+	}
+
+	@Override
+	public synchronized List<IPath> getPathsIgnoreCase(String fileName) {
+		return trie.getPathsIgnoreCase(fileName);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+
+				@Override
+				public boolean visit(IResourceDelta childDelta) throws CoreException {
+					return handleDelta(childDelta);
+				}
+			});
+		}
+		catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "The workspace file index could not be updated", e));
+		}
+	}
+
+	/**
+	 * Applies a single resource delta to the index.
+	 *
+	 * @param delta
+	 *            The delta to apply.
+	 * @return <code>true</code> if the children of the delta should be
+	 *         visited.
+	 */
+	private boolean handleDelta(IResourceDelta delta) {
+		IResource resource = delta.getResource();
+		switch (resource.getType()) {
+			case IResource.FILE:
+				if (delta.getKind() == IResourceDelta.ADDED) {
+					addPath(resource.getFullPath());
+				}
+				else if (delta.getKind() == IResourceDelta.REMOVED) {
+					removePath(resource.getFullPath());
+				}
+				return false;
+			case IResource.PROJECT:
+				IProject project = (IProject) resource;
+				if (delta.getKind() == IResourceDelta.REMOVED) {
+					removeProject(project.getName());
+					return false;
+				}
+				if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
+					removeProject(project.getName());
+					if (project.isOpen()) {
+						queueProject(project);
+					}
+					return false;
+				}
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Adds all files of the given project to the index.
+	 *
+	 * @param project
+	 *            The project to add.
+	 * @throws CoreException
+	 *             If the project could not be visited.
+	 */
+	private void addProject(IProject project) throws CoreException {
+		if (!project.isOpen()) {
+			return;
+		}
+		project.accept(new IResourceProxyVisitor() {
+
+			@Override
+			public boolean visit(IResourceProxy proxy) throws CoreException {
+				if (proxy.getType() == IResource.FILE) {
+					addPath(proxy.requestFullPath());
+					return false;
+				}
+				return true;
+			}
+		}, IResource.NONE);
+	}
+
+	/**
+	 * Removes all files of the project with the given name from the index.
+	 * Only the files of the project are visited.
+	 *
+	 * @param projectName
+	 *            The name of the project to remove.
+	 */
+	private synchronized void removeProject(String projectName) {
+		trie.removeAllStartingWith(projectName);
+	}
+
+	/**
+	 * Adds the given file path to the index.
+	 *
+	 * @param path
+	 *            The full path of the file.
+	 */
+	private synchronized void addPath(IPath path) {
+		trie.add(path);
+	}
+
+	/**
+	 * Removes the given file path from the index.
+	 *
+	 * @param path
+	 *            The full path of the file.
+	 */
+	private synchronized void removePath(IPath path) {
+		trie.remove(path);
+	}
+
+	/**
+	 * Writes the index to the given snapshot file. Does nothing if the index
+	 * has not been built, or opened projects have not been indexed yet.
+	 *
+	 * @param snapshotFile
+	 *            The file to write.
+	 * @return <code>true</code> if the file has been written.
+	 * @throws IOException
+	 *             If the file could not be written.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized boolean save(File snapshotFile) throws IOException {
+		if (!isBuilt()) {
+			return false;
+		}
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(snapshotFile)));
+		try {
+			List<IPath> paths = trie.getPaths();
+			out.writeInt(SNAPSHOT_VERSION);
+			out.writeInt(paths.size());
+			for (IPath path : paths) {
+				out.writeUTF(path.toPortableString());
+			}
+		}
+		finally {
+			out.close();
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the index from the given snapshot file. The index counts as built
+	 * afterwards.
+	 *
+	 * @param snapshotFile
+	 *            The file to read.
+	 * @return <code>true</code> if the snapshot has been loaded,
+	 *         <code>false</code> if the file does not exist or has an unknown
+	 *         format.
+	 * @throws IOException
+	 *             If the file could not be read.
+	 * @since Creation date: 17.10.2026
+	 */
+	public synchronized boolean load(File snapshotFile) throws IOException {
+		if (!snapshotFile.isFile()) {
+			return false;
+		}
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)));
+		try {
+			if (in.readInt() != SNAPSHOT_VERSION) {
+				return false;
+			}
+			trie.clear();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				addPath(Path.fromPortableString(in.readUTF()));
+			}
+			built = true;
+			return true;
+		}
+		finally {
+			in.close();
+		}
+	}
+
+}
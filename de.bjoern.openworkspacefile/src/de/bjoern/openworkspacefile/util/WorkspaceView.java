@@ -0,0 +1,97 @@
+package de.bjoern.openworkspacefile.util;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Read only view of the files of a workspace. Decouples the resolution of
+ * repository paths from the Eclipse resources plug-in, so it can also run
+ * headless against a synthetic workspace, e.g. in benchmarks.
+ *
+ * @author funhoff
+ * @see EclipseWorkspaceView
+ */
+public interface WorkspaceView {
+
+	/**
+	 * Visitor of the files of a container.
+	 */
+	interface FileVisitor {
+
+		/**
+		 * Returns <code>true</code> if the visit should stop. Checked for every
+		 * container.
+		 *
+		 * @return <code>true</code> to stop visiting.
+		 */
+		boolean isDone();
+
+		/**
+		 * Returns <code>true</code> if files with the given name should be
+		 * visited. Allows filtering files without creating their paths.
+		 *
+		 * @param name
+		 *            The file name.
+		 * @return <code>true</code> if the file should be visited.
+		 */
+		boolean acceptName(String name);
+
+		/**
+		 * Visits a file with an accepted name.
+		 *
+		 * @param fullPath
+		 *            The full path of the file.
+		 */
+		void visitFile(IPath fullPath);
+	}
+
+	/**
+	 * Returns the names of all open projects.
+	 *
+	 * @return The project names.
+	 */
+	String[] getOpenProjectNames();
+
+	/**
+	 * Returns the full paths of the folders directly below the given project.
+	 *
+	 * @param projectName
+	 *            The name of an open project.
+	 * @return The folder paths. Empty if the project has no folders or could
+	 *         not be read.
+	 */
+	IPath[] getTopLevelFolders(String projectName);
+
+	/**
+	 * Visits the files of the given container.
+	 *
+	 * @param containerPath
+	 *            The full path of a project or folder.
+	 * @param recursive
+	 *            <code>true</code> to visit the files of all sub folders as
+	 *            well, <code>false</code> to visit the files directly below
+	 *            the container only.
+	 * @param visitor
+	 *            The visitor.
+	 */
+	void visitFiles(IPath containerPath, boolean recursive, FileVisitor visitor);
+
+	/**
+	 * Returns <code>true</code> if the given file exists.
+	 *
+	 * @param filePath
+	 *            The full path of the file.
+	 * @return <code>true</code> if the file exists.
+	 */
+	boolean exists(IPath filePath);
+
+	/**
+	 * Returns the preferred full path of the given file among all paths
+	 * sharing its location, e.g. because a project is nested in another one.
+	 *
+	 * @param filePath
+	 *            The full path of an existing file.
+	 * @return The canonical path, possibly the given one.
+	 */
+	IPath getCanonicalPath(IPath filePath);
+
+}
@@ -0,0 +1,200 @@
+package de.bjoern.openworkspacefile.views;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.ui.part.ViewPart;
+
+import de.bjoern.openworkspacefile.util.Histogram;
+import de.bjoern.openworkspacefile.util.OpenWorkspaceFileHelper;
+import de.bjoern.openworkspacefile.util.ResolutionTelemetry;
+
+/**
+ * View showing the {@link ResolutionTelemetry}: latency percentiles of each
+ * stage of resolving and opening files, candidate counts and hit counters.
+ * The data can be exported as CSV or JSON.
+ *
+ * @author funhoff
+ */
+public class ResolutionDiagnosticsView extends ViewPart {
+
+	/**
+	 * The ID of the view.
+	 */
+	public static final String ID = "de.bjoern.openworkspacefile.views.diagnostics";
+
+	/**
+	 * Titles of the table columns.
+	 */
+	private static final String[] COLUMN_TITLES = { "Name", "Unit", "Count", "Mean", "p50", "p90", "p99", "Max" };
+
+	/**
+	 * Widths of the table columns.
+	 */
+	private static final int[] COLUMN_WIDTHS = { 220, 50, 70, 80, 80, 80, 80, 80 };
+
+	/**
+	 * The table viewer.
+	 */
+	private TableViewer viewer;
+
+	@Override
+	public void createPartControl(Composite parent) {
+		viewer = new TableViewer(parent, SWT.FULL_SELECTION | SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		Table table = viewer.getTable();
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+		for (int i = 0; i < COLUMN_TITLES.length; i++) {
+			TableColumn column = new TableColumn(table, i == 0 ? SWT.LEFT : SWT.RIGHT);
+			column.setText(COLUMN_TITLES[i]);
+			column.setWidth(COLUMN_WIDTHS[i]);
+		}
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setLabelProvider(new RowLabelProvider());
+		contributeActions(getViewSite().getActionBars().getToolBarManager());
+		refresh();
+	}
+
+	@Override
+	public void setFocus() {
+		refresh();
+		viewer.getControl().setFocus();
+	}
+
+	/**
+	 * Shows the current telemetry.
+	 */
+	private void refresh() {
+		List<String[]> rows = new ArrayList<String[]>();
+		for (Histogram histogram : ResolutionTelemetry.getHistograms()) {
+			boolean latency = ResolutionTelemetry.NANOSECONDS.equals(histogram.getUnit());
+			rows.add(new String[] { histogram.getName(), latency ? "us" : histogram.getUnit(), Long.toString(histogram.getCount()),
+					format(histogram.getMean(), latency), format(histogram.getValueAtPercentile(50), latency),
+					format(histogram.getValueAtPercentile(90), latency), format(histogram.getValueAtPercentile(99), latency),
+					format(histogram.getMax(), latency) });
+		}
+		for (Map.Entry<String, Long> counter : ResolutionTelemetry.getCounters().entrySet()) {
+			rows.add(new String[] { counter.getKey(), ResolutionTelemetry.COUNT, Long.toString(counter.getValue()), "", "", "", "", "" });
+		}
+		viewer.setInput(rows);
+	}
+
+	/**
+	 * Formats a value of a histogram for the table.
+	 *
+	 * @param value
+	 *            The value.
+	 * @param latency
+	 *            <code>true</code> if the value is a latency in nanoseconds,
+	 *            shown in microseconds.
+	 * @return The formatted value.
+	 */
+	private static String format(double value, boolean latency) {
+		return String.format(Locale.ROOT, "%.1f", latency ? value / 1000 : value);
+	}
+
+	/**
+	 * Adds the actions of the view to the given tool bar.
+	 *
+	 * @param toolBarManager
+	 *            The tool bar of the view.
+	 */
+	private void contributeActions(IToolBarManager toolBarManager) {
+		toolBarManager.add(new Action("Refresh") {
+
+			@Override
+			public void run() {
+				refresh();
+			}
+		});
+		toolBarManager.add(new Action("Reset") {
+
+			@Override
+			public void run() {
+				ResolutionTelemetry.reset();
+				refresh();
+			}
+		});
+		toolBarManager.add(new Action("Export CSV...") {
+
+			@Override
+			public void run() {
+				export("*.csv", ResolutionTelemetry.toCsv());
+			}
+		});
+		toolBarManager.add(new Action("Export JSON...") {
+
+			@Override
+			public void run() {
+				export("*.json", ResolutionTelemetry.toJson());
+			}
+		});
+	}
+
+	/**
+	 * Lets the user choose a file and writes the given text to it.
+	 *
+	 * @param extension
+	 *            The file name filter, e.g. <code>*.csv</code>.
+	 * @param text
+	 *            The text to write.
+	 */
+	private void export(String extension, String text) {
+		FileDialog dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+		dialog.setFilterExtensions(new String[] { extension });
+		dialog.setFileName("resolution-telemetry" + extension.substring(1));
+		dialog.setOverwrite(true);
+		String fileName = dialog.open();
+		if (fileName == null) {
+			return;
+		}
+		try {
+			Writer writer = new OutputStreamWriter(new FileOutputStream(new File(fileName)), "UTF-8");
+			try {
+				writer.write(text);
+			}
+			finally {
+				writer.close();
+			}
+		}
+		catch (IOException e) {
+			OpenWorkspaceFileHelper.showAndLogErrorMessage("The telemetry could not be exported to " + fileName + ".", e);
+		}
+	}
+
+	/**
+	 * Label provider of the rows, each an array of the cell texts.
+	 */
+	private static class RowLabelProvider extends LabelProvider implements ITableLabelProvider {
+
+		@Override
+		public Image getColumnImage(Object element, int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public String getColumnText(Object element, int columnIndex) {
+			return ((String[]) element)[columnIndex];
+		}
+	}
+
+}